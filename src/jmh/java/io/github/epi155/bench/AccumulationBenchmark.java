@@ -0,0 +1,77 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Accumulation of outcomes, one error every ten items:
+ * {@link NoneBuilder} and the {@link None} collectors on sequential and parallel streams
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccumulationBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private static Nope check(int k) {
+        return k % 10 == 0 ? Nope.fault(BenchMsg.UNPLACED, k) : Nope.nope();
+    }
+
+    @Benchmark
+    public None noneBuilder() {
+        NoneBuilder bld = None.builder();
+        for (int k = 0; k < size; k++) {
+            if (k % 10 == 0)
+                bld.fault(BenchMsg.UNPLACED, k);
+        }
+        return bld.build();
+    }
+
+    @Benchmark
+    public None noneBuilderPlaced() {
+        NoneBuilder bld = None.builder();
+        for (int k = 0; k < size; k++) {
+            if (k % 10 == 0)
+                bld.fault(BenchMsg.PLACED, k);
+        }
+        return bld.build();
+    }
+
+    @Benchmark
+    public None collectSequential() {
+        return IntStream.range(0, size)
+            .mapToObj(AccumulationBenchmark::check)
+            .collect(None.collect());
+    }
+
+    @Benchmark
+    public None collectParallel() {
+        return IntStream.range(0, size)
+            .parallel()
+            .mapToObj(AccumulationBenchmark::check)
+            .collect(None.collect());
+    }
+
+    @Benchmark
+    public None collectConcurrent() {
+        return IntStream.range(0, size)
+            .parallel()
+            .mapToObj(AccumulationBenchmark::check)
+            .collect(None.collectConcurrent());
+    }
+
+    @Benchmark
+    public None collectOrdered() {
+        return IntStream.range(0, size)
+            .parallel()
+            .mapToObj(AccumulationBenchmark::check)
+            .collect(None.collectOrdered());
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.CapturePolicy;
+import io.github.epi155.pm.lang.MsgTemplate;
+import io.github.epi155.pm.lang.TemplateMsg;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Messages used by the benchmarks, with and without place capture
+ */
+enum BenchMsg implements TemplateMsg {
+    BENCH("B001", "benchmark error at level %s", CapturePolicy.full()),
+    CONTROL("B002", "benchmark control flow", CapturePolicy.full()),
+    PLACED("B003", "invalid value %s", CapturePolicy.full()),
+    UNPLACED("B004", "invalid value %s", CapturePolicy.off()),
+    ;
+
+    private final String code;
+    private final MsgTemplate template;
+    private final CapturePolicy policy;
+
+    BenchMsg(String code, String pattern, CapturePolicy policy) {
+        this.code = code;
+        this.template = MsgTemplate.compile(pattern);
+        this.policy = policy;
+    }
+
+    @Override
+    public String code() {
+        return code;
+    }
+
+    @Override
+    public int statusCode() {
+        return 500;
+    }
+
+    @Override
+    public @NotNull MsgTemplate template() {
+        return template;
+    }
+
+    @Override
+    public CapturePolicy capturePolicy() {
+        return policy;
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+
+/**
+ * Many workers adding signals to one builder: the striped accumulator of {@link NoneBuilder}
+ * against a single shared {@link ConcurrentLinkedQueue} (the previous implementation)
+ * and a synchronized list
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+    private static final int PER_WORKER = 10_000;
+
+    @Param({"4", "32"})
+    public int workers;
+
+    private ExecutorService executor;
+    private Failure failure;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(workers);
+        failure = Nope.fault(BenchMsg.UNPLACED, 0).failure();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public int striped() throws Exception {
+        NoneBuilder bld = None.builder();
+        run(() -> {
+            for (int k = 0; k < PER_WORKER; k++) {
+                bld.add(failure);
+            }
+        });
+        return bld.signals().size();
+    }
+
+    @Benchmark
+    public int sharedQueue() throws Exception {
+        Queue<Signal> queue = new ConcurrentLinkedQueue<>();
+        boolean[] flags = { true, true };
+        run(() -> {
+            for (int k = 0; k < PER_WORKER; k++) {
+                flags[0] = false;
+                if (flags[1]) flags[1] = false;
+                queue.add(failure);
+            }
+        });
+        return new ArrayList<>(queue).size();
+    }
+
+    @Benchmark
+    public int synchronizedList() throws Exception {
+        List<Signal> list = Collections.synchronizedList(new ArrayList<>());
+        boolean[] flags = { true, true };
+        run(() -> {
+            for (int k = 0; k < PER_WORKER; k++) {
+                synchronized (list) {
+                    flags[0] = false;
+                    if (flags[1]) flags[1] = false;
+                    list.add(failure);
+                }
+            }
+        });
+        return list.size();
+    }
+
+    private void run(Runnable task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            futures.add(executor.submit(task));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
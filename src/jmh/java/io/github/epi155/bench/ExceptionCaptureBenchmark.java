@@ -0,0 +1,73 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.CustMsg;
+import io.github.epi155.pm.lang.FailureException;
+import io.github.epi155.pm.lang.Hope;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throw at some call depth and capture into a {@link Hope}:
+ * exception with stack trace, {@link FailureException#stackless(CustMsg, Object...) stackless}
+ * and {@link FailureException#cached(CustMsg) cached}, against a plain try/catch
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionCaptureBenchmark {
+    @Param({"4", "32"})
+    public int depth;
+
+    @Benchmark
+    public String tryCatch() {
+        try {
+            return descend(depth, 0);
+        } catch (FailureException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Hope<String> fullStack() {
+        try {
+            return Hope.of(descend(depth, 0));
+        } catch (FailureException e) {
+            return Hope.capture(e);
+        }
+    }
+
+    @Benchmark
+    public Hope<String> stackless() {
+        try {
+            return Hope.of(descend(depth, 1));
+        } catch (FailureException e) {
+            return Hope.capture(e);
+        }
+    }
+
+    @Benchmark
+    public Hope<String> cached() {
+        try {
+            return Hope.of(descend(depth, 2));
+        } catch (FailureException e) {
+            return Hope.capture(e);
+        }
+    }
+
+    private static String descend(int level, int kind) throws FailureException {
+        if (level > 0)
+            return descend(level - 1, kind);
+        switch (kind) {
+            case 0:
+                throw new FailureException(BenchMsg.BENCH, level);
+            case 1:
+                throw FailureException.stackless(BenchMsg.BENCH, level);
+            default:
+                throw FailureException.cached(BenchMsg.CONTROL);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.MsgTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering: {@link String#format(String, Object...)} against the precompiled {@link MsgTemplate}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageFormatBenchmark {
+    @Param({
+        "builder with errors, ignored value set at %s",
+        "value %s not valid for field %s (row %s)",
+    })
+    public String pattern;
+
+    private MsgTemplate template;
+    private Object[] argv;
+
+    @Setup
+    public void setup() {
+        template = MsgTemplate.compile(pattern);
+        argv = new Object[]{ "io.github.epi155.Main->run(Main.java:42)", 12345L, 7 };
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(pattern, argv);
+    }
+
+    @Benchmark
+    public String template() {
+        return template.format(argv);
+    }
+
+    @Benchmark
+    public String compileAndFormat() {
+        return MsgTemplate.compile(pattern).format(argv);
+    }
+}
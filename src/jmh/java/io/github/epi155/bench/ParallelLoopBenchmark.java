@@ -0,0 +1,112 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link LoopConsumer#forEachParallel(int, Function)}: reusable workers against a thread per item,
+ * gated by a {@link Semaphore} (the previous implementation, reproduced here),
+ * on the four kinds of source
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelLoopBenchmark {
+    private static final int ITEMS = 10_000;
+
+    @Param({"iterableOf", "streamOf", "iterable", "stream"})
+    public String source;
+
+    @Param({"4", "16"})
+    public int threads;
+
+    private List<Integer> items;
+    private List<Hope<Integer>> values;
+
+    @Setup
+    public void setup() {
+        items = new ArrayList<>(ITEMS);
+        values = new ArrayList<>(ITEMS);
+        for (int k = 0; k < ITEMS; k++) {
+            items.add(k);
+            values.add(k % 100 == 0 ? Hope.fault(BenchMsg.UNPLACED, k) : Hope.of(k));
+        }
+    }
+
+    private static ItemStatus check(int n) {
+        return n % 10 == 0 ? Nope.fault(BenchMsg.UNPLACED, n) : Nope.nope();
+    }
+
+    @Benchmark
+    public int workerPool() {
+        None none;
+        switch (source) {
+            case "iterableOf":
+                none = None.iterableOf(items).forEachParallel(threads, ParallelLoopBenchmark::check);
+                break;
+            case "streamOf":
+                none = None.streamOf(items.stream()).forEachParallel(threads, ParallelLoopBenchmark::check);
+                break;
+            case "iterable":
+                none = None.iterable(values).forEachParallel(threads, ParallelLoopBenchmark::check);
+                break;
+            default:
+                none = None.stream(values.stream()).forEachParallel(threads, ParallelLoopBenchmark::check);
+                break;
+        }
+        return none.signals().size();
+    }
+
+    @Benchmark
+    public int threadPerItem() {
+        NoneBuilder bld = None.builder();
+        Semaphore s = new Semaphore(threads);
+        Phaser p = new Phaser(1);
+        Consumer<Integer> launch = n -> {
+            p.register();
+            s.acquireUninterruptibly();
+            new Thread(() -> {
+                try {
+                    bld.add(check(n));
+                } finally {
+                    s.release();
+                    p.arriveAndDeregister();
+                }
+            }).start();
+        };
+        Consumer<Hope<Integer>> launchValue = h -> {
+            if (h.completeWithErrors()) {
+                bld.add(h.signals());
+            } else {
+                launch.accept(h.value());
+            }
+        };
+        switch (source) {
+            case "iterableOf":
+                items.forEach(launch);
+                break;
+            case "streamOf":
+                items.stream().forEach(launch);
+                break;
+            case "iterable":
+                values.forEach(launchValue);
+                break;
+            default:
+                values.stream().forEach(launchValue);
+                break;
+        }
+        p.arriveAndAwaitAdvance();
+        return bld.build().signals().size();
+    }
+}
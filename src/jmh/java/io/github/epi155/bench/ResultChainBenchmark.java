@@ -0,0 +1,104 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composition of {@link Hope} and {@link Some}: success chains,
+ * failure chains with and without place capture, plain Java baseline
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultChainBenchmark {
+    private String good = "12345";
+    private String bad = "-12345";
+
+    private static Hope<Integer> parse(String text, CustMsg ce) {
+        int n = Integer.parseInt(text);
+        return n < 0 ? Hope.fault(ce, text) : Hope.of(n);
+    }
+
+    private static Hope<Integer> twice(int n) {
+        return Hope.of(2 * n);
+    }
+
+    @Benchmark
+    public int plainJava() {
+        int n = Integer.parseInt(good);
+        if (n < 0)
+            return -1;
+        return 2 * n + 1;
+    }
+
+    @Benchmark
+    public Hope<Integer> hopeSuccess() {
+        return parse(good, BenchMsg.UNPLACED)
+            .maps(ResultChainBenchmark::twice)
+            .mapsOf(n -> n + 1);
+    }
+
+    @Benchmark
+    public HopeInt hopeIntSuccess() {
+        return Hope.of(good)
+            .mapToInt(Integer::parseInt)
+            .mapToInt(n -> 2 * n)
+            .mapToInt(n -> n + 1);
+    }
+
+    @Benchmark
+    public Some<Integer> someSuccess() {
+        return Some.of(good)
+            .map(text -> parse(text, BenchMsg.UNPLACED))
+            .map(ResultChainBenchmark::twice)
+            .mapOf(n -> n + 1);
+    }
+
+    @Benchmark
+    public None ergoSuccess() {
+        return parse(good, BenchMsg.UNPLACED)
+            .ergo(n -> Nope.nope());
+    }
+
+    @Benchmark
+    public Hope<Integer> hopeFailurePlaced() {
+        return parse(bad, BenchMsg.PLACED)
+            .maps(ResultChainBenchmark::twice)
+            .mapsOf(n -> n + 1);
+    }
+
+    @Benchmark
+    public Hope<Integer> hopeFailureUnplaced() {
+        return parse(bad, BenchMsg.UNPLACED)
+            .maps(ResultChainBenchmark::twice)
+            .mapsOf(n -> n + 1);
+    }
+
+    @Benchmark
+    public String hopeFailureMessage() {
+        return parse(bad, BenchMsg.UNPLACED)
+            .maps(ResultChainBenchmark::twice)
+            .failure().message();
+    }
+
+    @Benchmark
+    public Some<Integer> someFailurePlaced() {
+        return Some.of(bad)
+            .map(text -> parse(text, BenchMsg.PLACED))
+            .map(ResultChainBenchmark::twice)
+            .mapOf(n -> n + 1);
+    }
+
+    @Benchmark
+    public Some<Integer> someFailureUnplaced() {
+        return Some.of(bad)
+            .map(text -> parse(text, BenchMsg.UNPLACED))
+            .map(ResultChainBenchmark::twice)
+            .mapOf(n -> n + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.epi155.bench;
+
+import io.github.epi155.pm.lang.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 10k items whose function blocks (sleep, as a stand-in for I/O):
+ * {@link LoopConsumer#forEachVirtual(int, Function)} with all the items in flight
+ * against {@link LoopConsumer#forEachParallel(int, Function)} with a usual number of platform threads.
+ * On a JVM older than 21 forEachVirtual falls back to platform workers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualLoopBenchmark {
+    private static final int ITEMS = 10_000;
+
+    @Param({"5"})
+    public int blockMillis;
+
+    private List<Integer> items;
+
+    @Setup
+    public void setup() {
+        items = IntStream.range(0, ITEMS).boxed().collect(Collectors.toList());
+    }
+
+    private ItemStatus lookup(int n) {
+        try {
+            Thread.sleep(blockMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return n % 10 == 0 ? Nope.fault(BenchMsg.UNPLACED, n) : Nope.nope();
+    }
+
+    @Benchmark
+    public int virtual() {
+        return None.iterableOf(items).forEachVirtual(ITEMS, this::lookup).signals().size();
+    }
+
+    @Benchmark
+    public int platform200() {
+        return None.iterableOf(items).forEachParallel(200, this::lookup).signals().size();
+    }
+}
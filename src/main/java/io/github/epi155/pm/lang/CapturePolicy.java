@@ -0,0 +1,217 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Policy to record the call site (<i>place</i>) of errors and warnings
+ * <p>
+ * The policy can be set globally
+ * <pre>
+ *      CapturePolicy.setGlobal(CapturePolicy.sampled(1000));  </pre>
+ * or with the system property <code>{@value #PROPERTY}</code>
+ * (<code>off</code>, <code>full</code> or <code>sampled:N</code>);
+ * it can be overridden by each custom message with {@link CustMsg#capturePolicy()}.
+ * <p>
+ * The place of a captured exception lists the stack frames from the method that captures it
+ * to the throw point; at most {@link #maxDepth()} frames, nearest to the throw point, are kept
+ * (system property <code>{@value #DEPTH_PROPERTY}</code>).
+ * <ul>
+ *     <li>{@link Mode#OFF OFF} the stack is never inspected, {@link Signal#place()} is <i>null</i></li>
+ *     <li>{@link Mode#SAMPLED SAMPLED} one signal every N, for each message code, records the place</li>
+ *     <li>{@link Mode#FULL FULL} every signal records the place (default)</li>
+ * </ul>
+ */
+public final class CapturePolicy {
+    /**
+     * System property used to set the initial global policy
+     */
+    public static final String PROPERTY = "io.github.epi155.pm.lang.capture";
+    /**
+     * System property used to set the initial maximum depth of captured exception places
+     */
+    public static final String DEPTH_PROPERTY = "io.github.epi155.pm.lang.capture.depth";
+    private static final int DEFAULT_DEPTH = 64;
+    private static final CapturePolicy OFF = new CapturePolicy(Mode.OFF, 0);
+    private static final CapturePolicy FULL = new CapturePolicy(Mode.FULL, 1);
+    private static final ConcurrentMap<Integer, CapturePolicy> SAMPLED = new ConcurrentHashMap<>();
+    private static volatile CapturePolicy global = fromProperty(System.getProperty(PROPERTY));
+    private static volatile int maxDepth = depthFromProperty(System.getProperty(DEPTH_PROPERTY));
+
+    private final Mode mode;
+    private final int every;
+    private final ConcurrentMap<String, AtomicLong> counters;
+
+    private CapturePolicy(Mode mode, int every) {
+        this.mode = mode;
+        this.every = every;
+        this.counters = mode == Mode.SAMPLED ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Policy without place capture
+     *
+     * @return {@link CapturePolicy} instance
+     */
+    @Contract(pure = true)
+    public static @NotNull CapturePolicy off() {
+        return OFF;
+    }
+
+    /**
+     * Policy with place capture on each signal
+     *
+     * @return {@link CapturePolicy} instance
+     */
+    @Contract(pure = true)
+    public static @NotNull CapturePolicy full() {
+        return FULL;
+    }
+
+    /**
+     * Policy with place capture on one signal every <i>every</i>, for each message code.
+     * The first signal of each code is always captured.
+     * <p>
+     * The same instance (with the same counters) is returned for the same interval,
+     * so the method can be called directly by {@link CustMsg#capturePolicy()}:
+     * <pre>
+     *      public CapturePolicy capturePolicy() { return CapturePolicy.sampled(10); }  </pre>
+     *
+     * @param every sampling interval
+     * @return {@link CapturePolicy} instance
+     */
+    public static @NotNull CapturePolicy sampled(int every) {
+        if (every < 1)
+            throw new IllegalArgumentException();
+        if (every == 1)
+            return FULL;
+        CapturePolicy policy = SAMPLED.get(every);
+        if (policy == null) {
+            policy = SAMPLED.computeIfAbsent(every, k -> new CapturePolicy(Mode.SAMPLED, k));
+        }
+        return policy;
+    }
+
+    /**
+     * Current global policy, used by messages that don't override it
+     *
+     * @return global {@link CapturePolicy}
+     */
+    public static @NotNull CapturePolicy global() {
+        return global;
+    }
+
+    /**
+     * Set the global policy
+     *
+     * @param policy global {@link CapturePolicy}
+     */
+    public static void setGlobal(@NotNull CapturePolicy policy) {
+        global = policy;
+    }
+
+    /**
+     * Maximum number of stack frames kept in the place of a captured exception
+     *
+     * @return maximum depth
+     */
+    public static int maxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Set the maximum number of stack frames kept in the place of a captured exception
+     *
+     * @param depth maximum depth
+     */
+    public static void setMaxDepth(int depth) {
+        if (depth < 1)
+            throw new IllegalArgumentException();
+        maxDepth = depth;
+    }
+
+    private static int depthFromProperty(String value) {
+        if (value == null) return DEFAULT_DEPTH;
+        try {
+            int depth = Integer.parseInt(value.trim());
+            return depth < 1 ? DEFAULT_DEPTH : depth;
+        } catch (NumberFormatException e) {
+            return DEFAULT_DEPTH;
+        }
+    }
+
+    private static @NotNull CapturePolicy fromProperty(String value) {
+        if (value == null) return FULL;
+        String text = value.trim().toLowerCase();
+        if ("off".equals(text)) return OFF;
+        if (text.startsWith("sampled:")) {
+            try {
+                return sampled(Integer.parseInt(text.substring(8).trim()));
+            } catch (IllegalArgumentException e) {
+                return FULL;
+            }
+        }
+        return FULL;
+    }
+
+    /**
+     * Policy mode
+     *
+     * @return policy mode
+     */
+    public @NotNull Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Sampling interval, 0 when mode is {@link Mode#OFF OFF}, 1 when mode is {@link Mode#FULL FULL}
+     *
+     * @return sampling interval
+     */
+    public int every() {
+        return every;
+    }
+
+    boolean capture(String code) {
+        switch (mode) {
+            case OFF:
+                return false;
+            case FULL:
+                return true;
+            default:
+                String key = code == null ? "" : code;
+                AtomicLong counter = counters.get(key);
+                if (counter == null) {
+                    counter = counters.computeIfAbsent(key, k -> new AtomicLong());
+                }
+                return counter.getAndIncrement() % every == 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.SAMPLED ? "sampled:" + every : mode.name().toLowerCase();
+    }
+
+    /**
+     * Capture mode
+     */
+    public enum Mode {
+        /**
+         * place never recorded
+         */
+        OFF,
+        /**
+         * place recorded one time every N, for each code
+         */
+        SAMPLED,
+        /**
+         * place always recorded
+         */
+        FULL
+    }
+}
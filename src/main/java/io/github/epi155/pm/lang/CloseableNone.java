@@ -0,0 +1,22 @@
+package io.github.epi155.pm.lang;
+
+/**
+ * {@link None} whose signals may be kept in a temporary file
+ * <p>
+ * Closing the instance deletes the file; the signals can no longer be read.
+ * If the instance is not closed, the file is deleted once the instance (and its builder)
+ * have been garbage collected, or at JVM exit.
+ * <pre>
+ *      try (CloseableNone none = bld.build()) {
+ *          none.signals().forEach(reconciler::accept);
+ *      }  </pre>
+ *
+ * @see None#spillingBuilder(int)
+ */
+public interface CloseableNone extends None, AutoCloseable {
+    /**
+     * Deletes the temporary file, if any
+     */
+    @Override
+    void close();
+}
@@ -13,6 +13,10 @@ public interface CustMsg {
 
     /**
      * message builder
+     * <p>
+     * the builder is called lazily, on the first read of the signal message;
+     * until then the signal keeps the parameters
+     * </p>
      *
      * @param objects message parameters
      * @return final message
@@ -25,4 +29,34 @@ public interface CustMsg {
      * @return  status code
      */
     int statusCode();
+
+    /**
+     * policy to record the place of the signals raised with this message
+     *
+     * @return capture policy, by default the {@link CapturePolicy#global() global} one
+     */
+    default CapturePolicy capturePolicy() {
+        return CapturePolicy.global();
+    }
+
+    /**
+     * whether errors and warnings raised without parameters and without place
+     * (see {@link #capturePolicy()}) share a single instance
+     * <p>
+     * Only the messages that are enum constants are shared, so the shared instances are bounded;
+     * for any other message a new instance is created.
+     * Only the signals that the caller doesn't get back are shared:
+     * those of the factories ({@link Nope#fault(CustMsg, Object...)}, {@link Hope#fault(CustMsg, Object...)}, ...)
+     * and of the builder style methods ({@link NoneBuilder#withFault(CustMsg, Object...)}, ...).
+     * {@link ErrorBuilder#fault(CustMsg, Object...)} and {@link ErrorBuilder#alert(CustMsg, Object...)}
+     * return a new instance, so that properties can be set on it.
+     * {@link Signal#setProperty(String, Object) setProperty} on a shared instance
+     * leaves it unchanged and returns a copy with the property
+     * </p>
+     *
+     * @return <i>true</i> to share the instances, <i>false</i> (default) otherwise
+     */
+    default boolean flyweight() {
+        return false;
+    }
 }
@@ -1,27 +1,31 @@
 package io.github.epi155.pm.lang;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 
-enum EnumMessage implements CustMsg {
+enum EnumMessage implements TemplateMsg {
     NIL_ARG,
     ILL_ARG,
     NIL_BLD,
     ERR_BLD,
     OVR_BLD,
     DBL_SET,
+    LOOP_STP,
+    LOOP_INT,
 
     ;
 
     private final String code;
-    private final String pattern;
+    private final MsgTemplate template;
     private final int status;
 
     EnumMessage() {
         String label = name().toLowerCase().replace('_', '-');
         ResourceBundle bundle = ResourceBundle.getBundle("pm-messages");
         this.code = bundle.getString(label + ".code");
-        this.pattern = bundle.getString(label + ".pattern");
+        this.template = MsgTemplate.compile(bundle.getString(label + ".pattern"));
         this.status = getInt(bundle, label + ".status", 500);
     }
 
@@ -39,8 +43,8 @@ enum EnumMessage implements CustMsg {
     }
 
     @Override
-    public String message(Object[] objects) {
-        return String.format(pattern, objects);
+    public @NotNull MsgTemplate template() {
+        return template;
     }
 
     @Override
@@ -2,11 +2,28 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.IllegalFormatException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Checked exception Failure style
+ * <p>
+ * For control flow inside methods returning {@link Hope} (or other error containers)
+ * the stack trace is not needed: the {@link #stackless(CustMsg, Object...) stackless}
+ * and {@link #cached(CustMsg) cached} variants skip filling it; when captured
+ * their place is the capturing method.
+ * <pre>
+ *      try {
+ *          ...
+ *          throw FailureException.cached(MyMsg.E01);
+ *      } catch (FailureException e) {
+ *          return Hope.capture(e);
+ *      }  </pre>
  */
 public class FailureException extends Exception {
     private static final long serialVersionUID = -2344173422785699743L;
+    private static final ConcurrentMap<CustMsg, FailureException> CACHE = new ConcurrentHashMap<>();
     /**
      * error code
      */
@@ -28,4 +45,84 @@ public class FailureException extends Exception {
         this.status = ce.statusCode();
     }
 
+    /**
+     * Constructor, optionally without stack trace
+     * <p>
+     * when <i>writableStackTrace</i> is false, neither the stack trace
+     * nor the suppressed exceptions are recorded
+     * </p>
+     *
+     * @param ce                 custom error
+     * @param argv               error parameter
+     * @param writableStackTrace whether the stack trace is filled
+     */
+    protected FailureException(@NotNull CustMsg ce, Object[] argv, boolean writableStackTrace) {
+        super(ce.message(argv), null, writableStackTrace, writableStackTrace);
+        this.code = ce.code();
+        this.status = ce.statusCode();
+    }
+
+    /**
+     * Exception without stack trace
+     *
+     * @param ce   custom error
+     * @param argv error parameter
+     * @return {@link FailureException} instance
+     */
+    public static @NotNull FailureException stackless(@NotNull CustMsg ce, Object... argv) {
+        return new FailureException(ce, argv, false);
+    }
+
+    /**
+     * Preallocated exception without stack trace and without parameters
+     * <p>
+     * for an {@link Enum} message the same immutable instance is returned at each call,
+     * other messages get a new stackless instance (they are not kept in a static cache).
+     * Only messages without parameters are allowed: a message whose formatting fails
+     * without arguments is rejected; the cause of the shared instance cannot be set.
+     * </p>
+     *
+     * @param ce custom error, without parameters
+     * @return shared {@link FailureException} instance
+     * @throws IllegalArgumentException if the message requires parameters
+     */
+    public static @NotNull FailureException cached(@NotNull CustMsg ce) {
+        if (!(ce instanceof Enum))
+            return new FailureException(ce, messageOf(ce));
+        FailureException e = CACHE.get(ce);
+        if (e == null) {
+            e = CACHE.computeIfAbsent(ce, k -> new Shared(k, messageOf(k)));
+        }
+        return e;
+    }
+
+    private static @NotNull String messageOf(@NotNull CustMsg ce) {
+        try {
+            return ce.message(new Object[0]);
+        } catch (IllegalFormatException e) {
+            throw new IllegalArgumentException("cached exception " + ce.code() + ": the message requires parameters", e);
+        }
+    }
+
+    private FailureException(@NotNull CustMsg ce, @NotNull String message) {
+        super(message, null, false, false);
+        this.code = ce.code();
+        this.status = ce.statusCode();
+    }
+
+    /*
+     * instance of cached(ce), shared by every thread throwing it
+     */
+    private static final class Shared extends FailureException {
+        private static final long serialVersionUID = 5013781870425640519L;
+
+        private Shared(@NotNull CustMsg ce, @NotNull String message) {
+            super(ce, message);
+        }
+
+        @Override
+        public synchronized Throwable initCause(Throwable cause) {
+            throw new IllegalStateException("shared exception " + code + ": the cause cannot be set");
+        }
+    }
 }
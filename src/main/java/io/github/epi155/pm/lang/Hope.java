@@ -5,6 +5,9 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Utility interface for carrying a single error xor a value
@@ -16,6 +19,8 @@ import java.util.function.Function;
  *     and with Exception
  *     <pre>
  *      Hope.capture(Throwable t);      // error from Exception </pre>
+ *     Numeric results can avoid boxing with {@link HopeInt}, {@link HopeLong} and {@link HopeDouble}
+ *     (see {@link #mapToInt(ToIntFunction)}).
  * <p>
  *     The outcome can be evaluated imperatively
  *     <pre>
@@ -54,11 +59,11 @@ public interface Hope<T> extends ErrorXorValue<T>, OptoContext<T> {
          */
         //noinspection ConstantValue
         if (value == null) {
-            StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-            return new PmHope<>(null, PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], EnumMessage.NIL_ARG));
+            PmCallSite site = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
+            return new PmHope<>(null, PmFailure.of(site, EnumMessage.NIL_ARG));
         } else if (value instanceof Signal) {
-            StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-            @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], EnumMessage.ILL_ARG);
+            PmCallSite site = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
+            @NotNull Failure fail = PmFailure.unshared(site, EnumMessage.ILL_ARG);
             fail.setProperty("cause", value);
             return new PmHope<>(null, fail);
         }
@@ -75,8 +80,8 @@ public interface Hope<T> extends ErrorXorValue<T>, OptoContext<T> {
      */
     @NoBuiltInCapture
     static <S> @NotNull Hope<S> fault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        return new PmHope<>(null, PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv));
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmHope<>(null, PmFailure.of(site, ce, argv));
     }
 
     /**
@@ -90,8 +95,8 @@ public interface Hope<T> extends ErrorXorValue<T>, OptoContext<T> {
      */
     @NoBuiltInCapture
     static <S> @NotNull Hope<S> fault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        return new PmHope<>(null, PmFailure.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv));
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmHope<>(null, PmFailure.of(properties, site, ce, argv));
     }
 
     /**
@@ -109,8 +114,7 @@ public interface Hope<T> extends ErrorXorValue<T>, OptoContext<T> {
      */
     @NoBuiltInCapture
     static <S> @NotNull Hope<S> capture(@NotNull Throwable t) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         return new PmHope<>(null, PmTrouble.of(t, caller));
     }
 
@@ -161,6 +165,36 @@ public interface Hope<T> extends ErrorXorValue<T>, OptoContext<T> {
      */
     @NotNull <R> Hope<R> mapsOf(@NotNull Function<? super T, ? extends R> fcn);
 
+    /**
+     * map value to <i>int</i>
+     * <p>Hope &bull; <i>int</i> &rarr; HopeInt</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeInt} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeInt mapToInt(@NotNull ToIntFunction<? super T> fcn);
+
+    /**
+     * map value to <i>long</i>
+     * <p>Hope &bull; <i>long</i> &rarr; HopeLong</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeLong} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeLong mapToLong(@NotNull ToLongFunction<? super T> fcn);
+
+    /**
+     * map value to <i>double</i>
+     * <p>Hope &bull; <i>double</i> &rarr; HopeDouble</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeDouble} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeDouble mapToDouble(@NotNull ToDoubleFunction<? super T> fcn);
+
     /**
      * If there is no error and the value is present, the action on the value is performed.
      * In any case the initial class is returned.
@@ -0,0 +1,209 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Utility interface for carrying a single error xor a <i>int</i> value,
+ * the primitive specialization of {@link Hope}
+ * <p>
+ *     The interface has static constructors with value or custom error message
+ *     <pre>
+ *      HopeInt.of(int value);                       // final value
+ *      HopeInt.fault(CustMsg ce, Object... argv);      // error message </pre>
+ *     and with Exception
+ *     <pre>
+ *      HopeInt.capture(Throwable t);      // error from Exception </pre>
+ * <p>
+ *     Conversions from and to {@link Hope}
+ *     <pre>
+ *      HopeInt h = hope.mapToInt(v -> ...int);
+ *      Hope&lt;Integer&gt; b = h.boxed(); </pre>
+ * <p>
+ *     It is a {@link SingleError}, so it can be returned to the loops and collected in a {@link None};
+ *     it is not an {@link ErrorXorValue}, since its value is a primitive:
+ *     where an {@link ErrorXorValue} is required use {@link #boxed()}
+ */
+public interface HopeInt extends SingleError {
+    /**
+     * Create a <b> HopeInt </b> with value
+     *
+     * @param value value to set
+     * @return <b>HopeInt</b> instance
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeInt of(int value) {
+        return new PmHopeInt(value, null);
+    }
+
+    /**
+     * Create an error <b> HopeInt </b>
+     *
+     * @param ce   custom error message
+     * @param argv custom error parameters
+     * @return <b>HopeInt</b> instance
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeInt fault(@NotNull CustMsg ce, Object... argv) {
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmHopeInt(0, PmFailure.of(site, ce, argv));
+    }
+
+    /**
+     * Create an error with properties <b> HopeInt </b>
+     *
+     * @param properties error properties
+     * @param ce         custom error message
+     * @param argv       custom error parameters
+     * @return <b>HopeInt</b> instance
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeInt fault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmHopeInt(0, PmFailure.of(properties, site, ce, argv));
+    }
+
+    /**
+     * Create an error <b> HopeInt </b>
+     *
+     * @param t exception to catch
+     * @return <b>HopeInt</b> instance
+     * @see Hope#capture(Throwable)
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeInt capture(@NotNull Throwable t) {
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
+        return new PmHopeInt(0, PmTrouble.of(t, caller));
+    }
+
+    /**
+     * Returns the value.
+     * <p>
+     * in the presence of errors the {@link java.util.NoSuchElementException} error is thrown
+     * </p>
+     *
+     * @return value
+     */
+    int value();
+
+    /**
+     * map value
+     * <p>HopeInt &bull; <i>int</i> &rarr; HopeInt</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeInt} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeInt mapToInt(@NotNull IntUnaryOperator fcn);
+
+    /**
+     * map value
+     * <p>HopeInt &bull; <i>long</i> &rarr; HopeLong</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeLong} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeLong mapToLong(@NotNull IntToLongFunction fcn);
+
+    /**
+     * map value
+     * <p>HopeInt &bull; <i>double</i> &rarr; HopeDouble</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeDouble} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeDouble mapToDouble(@NotNull IntToDoubleFunction fcn);
+
+    /**
+     * map value
+     * <p>HopeInt &bull; <i>value</i> &rarr; Hope</p>
+     *
+     * @param fcn mapping function
+     * @param <R> result type
+     * @return {@link Hope} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull <R> Hope<R> mapToObj(@NotNull IntFunction<? extends R> fcn);
+
+    /**
+     * Compose operator
+     * <p>HopeInt &bull; HopeInt &rarr; HopeInt</p>
+     *
+     * @param fcn transform value to result {@link HopeInt}
+     * @return result {@link HopeInt} instance, if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeInt maps(@NotNull IntFunction<? extends HopeInt> fcn);
+
+    /**
+     * Compose operator
+     * <p>HopeInt &bull; SingleError &rarr; Nope</p>
+     *
+     * @param fcn fallible function
+     * @return result {@link Nope} instance, if this has an error, the function is not called and the result has the original error
+     */
+    @NotNull Nope ergoes(@NotNull IntFunction<? extends SingleError> fcn);
+
+    /**
+     * If there are no errors, apply the function to the value,
+     * if the function ends with errors, these errors are returned.
+     * In the presence of errors, the function is not called, and the initial error is returned.
+     *
+     * @param fcn transform value to {@link ItemStatus}
+     * @return {@link None} instance
+     */
+    @NotNull None ergo(@NotNull IntFunction<? extends ItemStatus> fcn);
+
+    /**
+     * If there is no error, the action on the value is performed.
+     * In any case the initial class is returned.
+     *
+     * @param action action on value, executed if there are no errors
+     * @return original {@link HopeInt} instance, with value/error
+     */
+    @NotNull HopeInt implies(@NotNull IntConsumer action);
+
+    /**
+     * Set the action on success
+     * <p>
+     * In the event of an error, the action is not performed.
+     * </p>
+     *
+     * @param action action to be taken if successful
+     * @return Glitch to set the action on failure
+     * @see Glitch#onFailure(java.util.function.Consumer)
+     */
+    @NotNull Glitch onSuccess(@NotNull IntConsumer action);
+
+    /**
+     * Box the value
+     *
+     * @return {@link Hope} instance with the boxed value, or the original error
+     */
+    @NotNull Hope<Integer> boxed();
+
+    /**
+     * Collapse to {@link Nope} instance, keeping only error data, and lost value
+     *
+     * @return {@link Nope} instance
+     */
+    @NotNull Nope asNope();
+
+    /**
+     * constructs a result using two alternative methods depending on whether the operation completed successfully or failed
+     *
+     * @param onSuccess success builder
+     * @param onFailure failure builder
+     * @param <R>       result type
+     * @return result
+     */
+    <R> R mapTo(IntFunction<R> onSuccess, Function<Failure, R> onFailure);
+}
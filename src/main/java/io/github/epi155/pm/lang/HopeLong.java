@@ -0,0 +1,209 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Utility interface for carrying a single error xor a <i>long</i> value,
+ * the primitive specialization of {@link Hope}
+ * <p>
+ *     The interface has static constructors with value or custom error message
+ *     <pre>
+ *      HopeLong.of(long value);                       // final value
+ *      HopeLong.fault(CustMsg ce, Object... argv);      // error message </pre>
+ *     and with Exception
+ *     <pre>
+ *      HopeLong.capture(Throwable t);      // error from Exception </pre>
+ * <p>
+ *     Conversions from and to {@link Hope}
+ *     <pre>
+ *      HopeLong h = hope.mapToLong(v -> ...long);
+ *      Hope&lt;Long&gt; b = h.boxed(); </pre>
+ * <p>
+ *     It is a {@link SingleError}, so it can be returned to the loops and collected in a {@link None};
+ *     it is not an {@link ErrorXorValue}, since its value is a primitive:
+ *     where an {@link ErrorXorValue} is required use {@link #boxed()}
+ */
+public interface HopeLong extends SingleError {
+    /**
+     * Create a <b> HopeLong </b> with value
+     *
+     * @param value value to set
+     * @return <b>HopeLong</b> instance
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeLong of(long value) {
+        return new PmHopeLong(value, null);
+    }
+
+    /**
+     * Create an error <b> HopeLong </b>
+     *
+     * @param ce   custom error message
+     * @param argv custom error parameters
+     * @return <b>HopeLong</b> instance
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeLong fault(@NotNull CustMsg ce, Object... argv) {
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmHopeLong(0, PmFailure.of(site, ce, argv));
+    }
+
+    /**
+     * Create an error with properties <b> HopeLong </b>
+     *
+     * @param properties error properties
+     * @param ce         custom error message
+     * @param argv       custom error parameters
+     * @return <b>HopeLong</b> instance
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeLong fault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmHopeLong(0, PmFailure.of(properties, site, ce, argv));
+    }
+
+    /**
+     * Create an error <b> HopeLong </b>
+     *
+     * @param t exception to catch
+     * @return <b>HopeLong</b> instance
+     * @see Hope#capture(Throwable)
+     */
+    @NoBuiltInCapture
+    static @NotNull HopeLong capture(@NotNull Throwable t) {
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
+        return new PmHopeLong(0, PmTrouble.of(t, caller));
+    }
+
+    /**
+     * Returns the value.
+     * <p>
+     * in the presence of errors the {@link java.util.NoSuchElementException} error is thrown
+     * </p>
+     *
+     * @return value
+     */
+    long value();
+
+    /**
+     * map value
+     * <p>HopeLong &bull; <i>int</i> &rarr; HopeInt</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeInt} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeInt mapToInt(@NotNull LongToIntFunction fcn);
+
+    /**
+     * map value
+     * <p>HopeLong &bull; <i>long</i> &rarr; HopeLong</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeLong} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeLong mapToLong(@NotNull LongUnaryOperator fcn);
+
+    /**
+     * map value
+     * <p>HopeLong &bull; <i>double</i> &rarr; HopeDouble</p>
+     *
+     * @param fcn mapping function
+     * @return {@link HopeDouble} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeDouble mapToDouble(@NotNull LongToDoubleFunction fcn);
+
+    /**
+     * map value
+     * <p>HopeLong &bull; <i>value</i> &rarr; Hope</p>
+     *
+     * @param fcn mapping function
+     * @param <R> result type
+     * @return {@link Hope} instance with new value,
+     * if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull <R> Hope<R> mapToObj(@NotNull LongFunction<? extends R> fcn);
+
+    /**
+     * Compose operator
+     * <p>HopeLong &bull; HopeLong &rarr; HopeLong</p>
+     *
+     * @param fcn transform value to result {@link HopeLong}
+     * @return result {@link HopeLong} instance, if this has an error, the transformation is not called and the result has the original error
+     */
+    @NotNull HopeLong maps(@NotNull LongFunction<? extends HopeLong> fcn);
+
+    /**
+     * Compose operator
+     * <p>HopeLong &bull; SingleError &rarr; Nope</p>
+     *
+     * @param fcn fallible function
+     * @return result {@link Nope} instance, if this has an error, the function is not called and the result has the original error
+     */
+    @NotNull Nope ergoes(@NotNull LongFunction<? extends SingleError> fcn);
+
+    /**
+     * If there are no errors, apply the function to the value,
+     * if the function ends with errors, these errors are returned.
+     * In the presence of errors, the function is not called, and the initial error is returned.
+     *
+     * @param fcn transform value to {@link ItemStatus}
+     * @return {@link None} instance
+     */
+    @NotNull None ergo(@NotNull LongFunction<? extends ItemStatus> fcn);
+
+    /**
+     * If there is no error, the action on the value is performed.
+     * In any case the initial class is returned.
+     *
+     * @param action action on value, executed if there are no errors
+     * @return original {@link HopeLong} instance, with value/error
+     */
+    @NotNull HopeLong implies(@NotNull LongConsumer action);
+
+    /**
+     * Set the action on success
+     * <p>
+     * In the event of an error, the action is not performed.
+     * </p>
+     *
+     * @param action action to be taken if successful
+     * @return Glitch to set the action on failure
+     * @see Glitch#onFailure(java.util.function.Consumer)
+     */
+    @NotNull Glitch onSuccess(@NotNull LongConsumer action);
+
+    /**
+     * Box the value
+     *
+     * @return {@link Hope} instance with the boxed value, or the original error
+     */
+    @NotNull Hope<Long> boxed();
+
+    /**
+     * Collapse to {@link Nope} instance, keeping only error data, and lost value
+     *
+     * @return {@link Nope} instance
+     */
+    @NotNull Nope asNope();
+
+    /**
+     * constructs a result using two alternative methods depending on whether the operation completed successfully or failed
+     *
+     * @param onSuccess success builder
+     * @param onFailure failure builder
+     * @param <R>       result type
+     * @return result
+     */
+    <R> R mapTo(LongFunction<R> onSuccess, Function<Failure, R> onFailure);
+}
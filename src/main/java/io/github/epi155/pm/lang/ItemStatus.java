@@ -42,4 +42,40 @@ public interface ItemStatus {
      * @return  signal list (error or warning)
      */
     Collection<Signal> signals();
+
+    /**
+     * Number of errors
+     * <p>
+     * The library implementations keep a counter, the method doesn't scan the signals.
+     * On a status of a bounded builder the errors only counted are included,
+     * so the number can be greater than the errors in {@link #signals()}.
+     * </p>
+     *
+     * @return number of errors
+     */
+    default long errorCount() {
+        long n = 0;
+        for (Signal signal : signals()) {
+            if (!(signal instanceof Warning)) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Number of warnings
+     * <p>
+     * The library implementations keep a counter, the method doesn't scan the signals.
+     * On a status of a bounded builder the warnings only counted are included,
+     * so the number can be greater than the warnings in {@link #signals()}.
+     * </p>
+     *
+     * @return number of warnings
+     */
+    default long warningCount() {
+        long n = 0;
+        for (Signal signal : signals()) {
+            if (signal instanceof Warning) n++;
+        }
+        return n;
+    }
 }
@@ -2,7 +2,11 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -11,6 +15,49 @@ import java.util.function.Function;
  * @param <E> value type
  */
 public interface LoopConsumer<E> {
+    /**
+     * Stops the loop at the first error
+     * <p>
+     * equivalent to {@link #maxErrors(long) maxErrors(1)}
+     * </p>
+     *
+     * @return {@link LoopConsumer} instance with the termination policy
+     */
+    default @NotNull LoopConsumer<E> failFast() {
+        return maxErrors(1);
+    }
+
+    /**
+     * Stops the loop after <i>n</i> errors
+     * <p>
+     * No more items are fed to the function, the queued items of the executor variant are cancelled;
+     * the result contains a warning that records the early termination.
+     * </p>
+     *
+     * @param n maximum number of errors
+     * @return {@link LoopConsumer} instance with the termination policy
+     * @throws UnsupportedOperationException if the implementation has no termination policies (default)
+     */
+    default @NotNull LoopConsumer<E> maxErrors(long n) {
+        throw new UnsupportedOperationException("maxErrors");
+    }
+
+    /**
+     * Stops the loop when the ratio errors/items exceeds <i>rate</i>
+     * <p>
+     * The rate is checked once at least <i>minItems</i> items have been consumed;
+     * termination works as in {@link #maxErrors(long)}
+     * </p>
+     *
+     * @param rate     maximum error rate, from 0 (included) to 1 (excluded)
+     * @param minItems number of items consumed before checking the rate
+     * @return {@link LoopConsumer} instance with the termination policy
+     * @throws UnsupportedOperationException if the implementation has no termination policies (default)
+     */
+    default @NotNull LoopConsumer<E> maxErrorRate(double rate, long minItems) {
+        throw new UnsupportedOperationException("maxErrorRate");
+    }
+
 
     /**
      * It loops on fallible function and collects errors
@@ -22,6 +69,10 @@ public interface LoopConsumer<E> {
 
     /**
      * It loops in parallel on fallible function and collects errors
+     * <p>
+     * The items are handed over to at most <i>maxThread</i> worker threads, reused for the whole loop;
+     * the loop waits when the workers are behind, and returns when every item has been consumed
+     * </p>
      *
      * @param maxThread max parallel thread
      * @param fcn       fallible function to loop over
@@ -29,12 +80,157 @@ public interface LoopConsumer<E> {
      */
     @NotNull None forEachParallel(int maxThread, @NotNull Function<? super E, ? extends ItemStatus> fcn);
 
+    /**
+     * It loops on fallible function over batches of items and collects errors
+     * <p>
+     * The items are passed to the function in lists of <i>size</i> items (the last one may be shorter);
+     * with a source of values ({@link AnyValue}), the values with errors are collected
+     * and left out of the batches. The list is read-only and valid only during the call:
+     * it is reused for the following batches.
+     * The default implementation builds the batches on {@link #forEach(Function)}.
+     * </p>
+     * <pre>
+     *      None none = None.iterableOf(rows).forEachBatch(500, dao::insertAll);  </pre>
+     *
+     * @param size batch size
+     * @param fcn  fallible function to loop over the batches
+     * @return {@link None} instance
+     */
+    default @NotNull None forEachBatch(int size, @NotNull Function<? super List<E>, ? extends ItemStatus> fcn) {
+        if (size < 1)
+            throw new IllegalArgumentException();
+        List<E> batch = new ArrayList<>(size);
+        List<E> view = Collections.unmodifiableList(batch);
+        @NotNull None none = forEach(item -> {
+            batch.add(item);
+            if (batch.size() < size)
+                return None.none();
+            ItemStatus status = fcn.apply(view);
+            batch.clear();
+            return status;
+        });
+        if (batch.isEmpty())
+            return none;
+        return None.builder().withStatus(none).withStatus(fcn.apply(view)).build();
+    }
+
+    /**
+     * It loops in parallel on fallible function over batches of items and collects errors
+     * <p>
+     * The batches are built as in {@link #forEachBatch(int, Function)}
+     * and consumed as the items of {@link #forEachParallel(int, Function)}.
+     * The default implementation calls {@link #forEachBatch(int, Function)}, in the calling thread.
+     * </p>
+     *
+     * @param size      batch size
+     * @param maxThread max parallel thread
+     * @param fcn       fallible function to loop over the batches
+     * @return {@link None} instance
+     */
+    default @NotNull None forEachBatchParallel(int size, int maxThread, @NotNull Function<? super List<E>, ? extends ItemStatus> fcn) {
+        if (maxThread < 1)
+            throw new IllegalArgumentException();
+        return forEachBatch(size, fcn);
+    }
+
+    /**
+     * It maps in parallel with fallible function, collecting the results in input order
+     * <p>
+     * As {@link #mapParallel(int, Function, Consumer)}, with the results collected in a list;
+     * with errors the list is discarded.
+     * The default implementation collects the results of {@link #mapParallel(int, Function, Consumer)}.
+     * </p>
+     * <pre>
+     *      Some&lt;List&lt;Row&gt;&gt; rows = None.iterableOf(lines).mapParallel(8, Row::parse);  </pre>
+     *
+     * @param maxThread max parallel thread
+     * @param fcn       fallible function to map with
+     * @param <R>       result type
+     * @return {@link Some} instance with the results in input order
+     */
+    default @NotNull <R> Some<List<R>> mapParallel(int maxThread, @NotNull Function<? super E, ? extends AnyValue<R>> fcn) {
+        List<R> results = new ArrayList<>();
+        return mapParallel(maxThread, fcn, results::add).mapOf(() -> results);
+    }
+
+    /**
+     * It maps in parallel with fallible function, passing the results to the sink in input order
+     * <p>
+     * The items are consumed as in {@link #forEachParallel(int, Function)};
+     * the sink receives the values of the results without errors, in the order of the source,
+     * one at a time. A result waits in a reorder buffer until the previous ones have been passed to the sink;
+     * when the buffer is full (4 results per thread, at least 64, at most 4096) the loop waits.
+     * Errors and warnings are collected as usual.
+     * If the sink throws an exception, the following results are dropped and the exception is
+     * rethrown at the end of the loop.
+     * The default implementation maps the items on {@link #forEach(Function)}, in the calling thread;
+     * an exception of the sink stops the loop at once.
+     * </p>
+     *
+     * @param maxThread max parallel thread
+     * @param fcn       fallible function to map with
+     * @param sink      consumer of the results, in input order
+     * @param <R>       result type
+     * @return {@link None} instance
+     */
+    default @NotNull <R> None mapParallel(int maxThread, @NotNull Function<? super E, ? extends AnyValue<R>> fcn, @NotNull Consumer<? super R> sink) {
+        if (maxThread < 1)
+            throw new IllegalArgumentException();
+        return forEach(item -> {
+            AnyValue<R> result = fcn.apply(item);
+            if (!result.completeWithErrors()) sink.accept(result.value());
+            return result;
+        });
+    }
+
+    /**
+     * It loops on fallible function using virtual threads and collects errors
+     * <p>
+     * Meant for functions that mostly wait (blocking I/O):
+     * on Java 21+ each item is consumed by its own virtual thread, at most <i>maxConcurrency</i> at a time;
+     * on older JVMs the items are consumed as in {@link #forEachParallel(int, Function)},
+     * with <i>maxConcurrency</i> platform threads.
+     * The default implementation calls {@link #forEachParallel(int, Function)}.
+     * </p>
+     *
+     * @param maxConcurrency max items consumed at the same time
+     * @param fcn            fallible function to loop over
+     * @return {@link None} instance
+     */
+    default @NotNull None forEachVirtual(int maxConcurrency, @NotNull Function<? super E, ? extends ItemStatus> fcn) {
+        return forEachParallel(maxConcurrency, fcn);
+    }
+
     /**
      * It loops in parallel on fallible function and collects errors
+     * <p>
+     * At most 1024 items are submitted to the executor and not yet completed:
+     * the source is iterated at the rate the executor consumes it
+     * (see {@link #forEachParallel(ExecutorService, int, Function)})
+     * </p>
      *
      * @param executor executor that manages the multithreading
      * @param fcn      fallible function to loop over
      * @return {@link None} instance
      */
     @NotNull None forEachParallel(@NotNull ExecutorService executor, @NotNull Function<? super E, ? extends ItemStatus> fcn);
+
+    /**
+     * It loops in parallel on fallible function and collects errors
+     * <p>
+     * At most <i>maxPending</i> items are submitted to the executor and not yet completed;
+     * when the limit is reached the loop waits, so memory doesn't grow with the size of the source.
+     * The default implementation calls {@link #forEachParallel(ExecutorService, Function)}, without the limit.
+     * </p>
+     *
+     * @param executor   executor that manages the multithreading
+     * @param maxPending max items submitted and not yet completed
+     * @param fcn        fallible function to loop over
+     * @return {@link None} instance
+     */
+    default @NotNull None forEachParallel(@NotNull ExecutorService executor, int maxPending, @NotNull Function<? super E, ? extends ItemStatus> fcn) {
+        if (maxPending < 1)
+            throw new IllegalArgumentException();
+        return forEachParallel(executor, fcn);
+    }
 }
@@ -1,8 +1,94 @@
 package io.github.epi155.pm.lang;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Generic utility class for carrying a many errors
  */
 public interface ManyErrors extends AnyError, Glitches {
 
+    /**
+     * Number of signals for each code, status and kind
+     * <p>
+     * with a bounded builder (see {@link None#boundedBuilder(int, int)}) it includes
+     * the signals counted but not retained
+     * </p>
+     *
+     * @return signal counters, sorted by code, status and kind (errors first)
+     */
+    default @NotNull Collection<SignalCount> counts() {
+        return Collections.unmodifiableList(SignalCount.countOf(signals()));
+    }
+
+    /**
+     * Signals with the given code
+     * <p>
+     * In the library implementations the first query builds an index of the signals with a single pass,
+     * the following queries (of any kind) are lookups; the default implementation scans {@link #signals()}
+     * </p>
+     * <pre>
+     *      none.signalsByCode("E042").forEach(s -&gt; route(s));  </pre>
+     *
+     * @param code signal code
+     * @return signals with the code, in order of occurrence (empty if none)
+     */
+    default @NotNull List<Signal> signalsByCode(@NotNull String code) {
+        List<Signal> list = new ArrayList<>();
+        for (Signal signal : signals()) {
+            if (code.equals(signal.code())) list.add(signal);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Signals with status in the range <i>from</i> (inclusive) to <i>to</i> (exclusive)
+     * <pre>
+     *      List&lt;Signal&gt; clientErrors = none.signalsByStatus(400, 500);  </pre>
+     *
+     * @param from lower status, inclusive
+     * @param to   upper status, exclusive
+     * @return signals in the range, sorted by status (in order of occurrence with the same status)
+     */
+    default @NotNull List<Signal> signalsByStatus(int from, int to) {
+        List<Signal> list = new ArrayList<>();
+        for (Signal signal : signals()) {
+            if (from <= signal.status() && signal.status() < to) list.add(signal);
+        }
+        list.sort(Comparator.comparingInt(Signal::status));
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Errors, without the warnings
+     *
+     * @return errors, in order of occurrence
+     */
+    default @NotNull List<Failure> failures() {
+        List<Failure> list = new ArrayList<>();
+        for (Signal signal : signals()) {
+            if (signal instanceof Failure) list.add((Failure) signal);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Codes of the signals
+     *
+     * @return distinct codes, in order of first occurrence
+     */
+    default @NotNull Set<String> codes() {
+        Set<String> codes = new LinkedHashSet<>();
+        for (Signal signal : signals()) {
+            codes.add(signal.code());
+        }
+        return Collections.unmodifiableSet(codes);
+    }
 }
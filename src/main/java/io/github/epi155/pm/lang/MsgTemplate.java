@@ -0,0 +1,230 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * Message pattern parsed once, rendered many times
+ * <p>
+ * The pattern accepts the placeholders
+ * <ul>
+ *     <li><code>%s</code> next parameter, as {@link String#format(String, Object...)}</li>
+ *     <li><code>%2$s</code> second parameter, as {@link String#format(String, Object...)}</li>
+ *     <li><code>{1}</code> second parameter, as {@link java.text.MessageFormat MessageFormat}
+ *     (left unchanged if the parameter is missing)</li>
+ *     <li><code>%%</code> and <code>%n</code>, percent and line separator</li>
+ * </ul>
+ * A pattern using any other format specifier (<code>%d</code>, <code>%-10s</code>, ...)
+ * is rendered with {@link String#format(String, Object...)}.
+ *
+ * <pre>
+ *      MsgTemplate template = MsgTemplate.compile("value %s not valid for {0}");  </pre>
+ */
+public final class MsgTemplate {
+    private static final int ARG_CAPACITY = 16;
+
+    private final String pattern;
+    private final String[] literals;
+    private final int[] slots;
+    private final boolean[] braced;
+    private final boolean legacy;
+    /*
+     * total length of the literals, the parameters are added when the message is rendered
+     */
+    private final int capacity;
+
+    private MsgTemplate(String pattern, String[] literals, int[] slots, boolean[] braced, boolean legacy) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.slots = slots;
+        this.braced = braced;
+        this.legacy = legacy;
+        int n = 0;
+        if (!legacy) {
+            for (String literal : literals) {
+                n += literal.length();
+            }
+        }
+        this.capacity = n;
+    }
+
+    /**
+     * Parses the message pattern
+     *
+     * @param pattern message pattern
+     * @return {@link MsgTemplate} instance
+     */
+    @Contract("_ -> new")
+    public static @NotNull MsgTemplate compile(@NotNull String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Boolean> braced = new ArrayList<>();
+        StringBuilder text = new StringBuilder(pattern.length());
+        int next = 0;
+        int len = pattern.length();
+        int i = 0;
+        while (i < len) {
+            char c = pattern.charAt(i);
+            if (c == '%') {
+                if (i + 1 >= len)
+                    return legacy(pattern);
+                char d = pattern.charAt(i + 1);
+                if (d == 's') {
+                    slots.add(next++);
+                } else if (d == '%') {
+                    text.append('%');
+                    i += 2;
+                    continue;
+                } else if (d == 'n') {
+                    text.append(System.lineSeparator());
+                    i += 2;
+                    continue;
+                } else {
+                    int j = digits(pattern, i + 1);
+                    if (j == i + 1 || j + 1 >= len || pattern.charAt(j) != '$' || pattern.charAt(j + 1) != 's')
+                        return legacy(pattern);
+                    int index = Integer.parseInt(pattern.substring(i + 1, j));
+                    if (index == 0)
+                        return legacy(pattern);
+                    slots.add(index - 1);
+                    braced.add(false);
+                    literals.add(text.toString());
+                    text.setLength(0);
+                    i = j + 2;
+                    continue;
+                }
+                braced.add(false);
+                literals.add(text.toString());
+                text.setLength(0);
+                i += 2;
+            } else if (c == '{') {
+                int j = digits(pattern, i + 1);
+                if (j > i + 1 && j < len && pattern.charAt(j) == '}') {
+                    slots.add(Integer.parseInt(pattern.substring(i + 1, j)));
+                    braced.add(true);
+                    literals.add(text.toString());
+                    text.setLength(0);
+                    i = j + 1;
+                } else {
+                    text.append(c);
+                    i++;
+                }
+            } else {
+                text.append(c);
+                i++;
+            }
+        }
+        literals.add(text.toString());
+        int[] slotArray = new int[slots.size()];
+        boolean[] bracedArray = new boolean[slots.size()];
+        for (int k = 0; k < slotArray.length; k++) {
+            slotArray[k] = slots.get(k);
+            bracedArray[k] = braced.get(k);
+        }
+        return new MsgTemplate(pattern, literals.toArray(new String[0]), slotArray, bracedArray, false);
+    }
+
+    private static @NotNull MsgTemplate legacy(String pattern) {
+        return new MsgTemplate(pattern, null, null, null, true);
+    }
+
+    private static int digits(@NotNull String pattern, int from) {
+        int j = from;
+        // at most 9 digits, the index always fits an int
+        while (j < pattern.length() && j - from < 9 && Character.isDigit(pattern.charAt(j)))
+            j++;
+        return j;
+    }
+
+    /**
+     * Renders the message
+     *
+     * @param argv message parameters
+     * @return final message
+     */
+    public @NotNull String format(@Nullable Object... argv) {
+        if (legacy)
+            return String.format(pattern, argv);
+        if (slots.length == 0)
+            return literals[0];
+        // a builder for each message: no buffer is kept by the (pooled or virtual) threads
+        StringBuilder sb = new StringBuilder(capacity(argv));
+        render(sb, argv);
+        return sb.toString();
+    }
+
+    private int capacity(Object[] argv) {
+        int n = capacity;
+        for (int index : slots) {
+            if (argv != null && index < argv.length && argv[index] instanceof CharSequence)
+                n += ((CharSequence) argv[index]).length();
+            else
+                n += ARG_CAPACITY;
+        }
+        return n;
+    }
+
+    /**
+     * Renders the message at the end of the builder
+     *
+     * @param sb   string builder
+     * @param argv message parameters
+     */
+    public void formatTo(@NotNull StringBuilder sb, @Nullable Object... argv) {
+        if (legacy)
+            sb.append(String.format(pattern, argv));
+        else
+            render(sb, argv);
+    }
+
+    private void render(@NotNull StringBuilder sb, Object[] argv) {
+        for (int k = 0; k < slots.length; k++) {
+            sb.append(literals[k]);
+            int index = slots[k];
+            if (argv == null) {
+                sb.append((Object) null);
+            } else if (index < argv.length) {
+                append(sb, argv[index]);
+            } else if (braced[k]) {
+                sb.append('{').append(index).append('}');
+            } else {
+                throw new MissingFormatArgumentException("%s");
+            }
+        }
+        sb.append(literals[slots.length]);
+    }
+
+    private static void append(@NotNull StringBuilder sb, Object arg) {
+        if (arg instanceof CharSequence) {
+            sb.append((CharSequence) arg);
+        } else if (arg instanceof Integer) {
+            sb.append(((Integer) arg).intValue());
+        } else if (arg instanceof Long) {
+            sb.append(((Long) arg).longValue());
+        } else if (arg instanceof Formattable) {
+            sb.append(String.format("%s", arg));
+        } else {
+            sb.append(arg);
+        }
+    }
+
+    /**
+     * Message pattern
+     *
+     * @return message pattern
+     */
+    public @NotNull String pattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -68,6 +68,63 @@ public interface None extends ManyErrors, OnlyError {
         return new PmNoneBuilder();
     }
 
+    /**
+     * static {@link NoneBuilder} with bounded retention
+     * <p>
+     * The builder keeps at most <i>maxSignals</i> signals, and at most <i>maxPerCode</i>
+     * signals with the same code, status and kind; the first error is always kept.
+     * The other signals are only counted, see {@link ManyErrors#counts()}
+     * <pre>
+     *      None none = None.boundedBuilder(10_000, 100)
+     *          .iterableOf(records)
+     *          .forEach(this::validate)
+     *          .build();
+     *      none.counts().forEach(c -&gt; log.warn("{}: {} retained, {} dropped", c.code(), c.retained(), c.dropped()));  </pre>
+     *
+     * @param maxSignals maximum number of signals kept
+     * @param maxPerCode maximum number of signals kept for each code, status and kind
+     * @return {@link NoneBuilder} instance
+     */
+    static @NotNull NoneBuilder boundedBuilder(int maxSignals, int maxPerCode) {
+        return new PmBoundedNoneBuilder(maxSignals, maxPerCode);
+    }
+
+    /**
+     * static {@link NoneBuilder} that counts the signals
+     * <p>
+     * The builder keeps a counter for each code, status and kind, and only the first
+     * <i>exemplars</i> signals of each one (see {@link ManyErrors#counts()});
+     * memory depends on the number of distinct codes, not on the number of signals.
+     *
+     * @param exemplars number of signals kept for each code, status and kind
+     * @return {@link NoneBuilder} instance
+     */
+    static @NotNull NoneBuilder histogramBuilder(int exemplars) {
+        return new PmBoundedNoneBuilder(Integer.MAX_VALUE, exemplars);
+    }
+
+    /**
+     * static {@link NoneBuilder} that moves the signals to a temporary file
+     * <p>
+     * The first <i>threshold</i> signals are kept in memory, the others are appended
+     * to a temporary file and read back, memory-mapped, when the signals are iterated.
+     * Signals read from the file have the same code, status, message, place and properties
+     * (property values other than String, Integer, Long, Double and Boolean become strings).
+     * The file is deleted when the {@link CloseableNone} is closed.
+     * <pre>
+     *      SpillingNoneBuilder bld = None.spillingBuilder(100_000);
+     *      bld.iterableOf(records).forEach(this::validate);
+     *      try (CloseableNone none = bld.build()) {
+     *          none.signals().forEach(reconciler::accept);
+     *      }  </pre>
+     *
+     * @param threshold number of signals kept in memory
+     * @return {@link SpillingNoneBuilder} instance
+     */
+    static @NotNull SpillingNoneBuilder spillingBuilder(int threshold) {
+        return new PmSpillingNoneBuilder(threshold);
+    }
+
     /**
      * Static constructor without errors
      * @return  instance of {@link None} without errors
@@ -86,8 +143,8 @@ public interface None extends ManyErrors, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull None fault(@NotNull CustMsg ce, Object... objects) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, objects);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(site, ce, objects);
         return new PmNone(Collections.singletonList(fail));
     }
 
@@ -101,8 +158,8 @@ public interface None extends ManyErrors, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull None fault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... objects) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, objects);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(properties, site, ce, objects);
         return new PmNone(Collections.singletonList(fail));
     }
 
@@ -115,8 +172,8 @@ public interface None extends ManyErrors, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull None alert(@NotNull CustMsg ce, Object... objects) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(stPtr[PmAnyBuilder.J_LOCATE], ce, objects);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Warning warn = PmWarning.of(site, ce, objects);
         return new PmNone(Collections.singletonList(warn));
     }
 
@@ -130,8 +187,8 @@ public interface None extends ManyErrors, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull None alert(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... objects) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, objects);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Warning warn = PmWarning.of(properties, site, ce, objects);
         return new PmNone(Collections.singletonList(warn));
     }
 
@@ -143,8 +200,7 @@ public interface None extends ManyErrors, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull None capture(@NotNull Throwable t) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         return new PmNone(Collections.singletonList(PmTrouble.of(t, caller)));
     }
 
@@ -205,6 +261,56 @@ public interface None extends ManyErrors, OnlyError {
         return new PmCollector();
     }
 
+    /**
+     * Concurrent collector, for parallel streams
+     * <p>
+     * All the threads of the stream add to the same builder, there are no partial results to merge;
+     * the order of the signals is not kept.
+     * <pre>
+     *      None none = records.parallelStream()
+     *          .map(this::validate)
+     *          .collect(None.collectConcurrent());  </pre>
+     *
+     * @return collector.
+     */
+    static @NotNull Collector<ItemStatus, NoneBuilder, None> collectConcurrent() {
+        return new PmCollector(None::builder, PmCollector.CONCURRENT);
+    }
+
+    /**
+     * Ordered collector, for parallel streams
+     * <p>
+     * The signals keep the order of the stream; the partial results are linked, not copied.
+     * <pre>
+     *      None none = records.parallelStream()
+     *          .map(this::validate)
+     *          .collect(None.collectOrdered());  </pre>
+     *
+     * @return collector.
+     */
+    static @NotNull Collector<ItemStatus, ?, None> collectOrdered() {
+        return PmSignalChain.collector();
+    }
+
+    /**
+     * Collector that counts the signals, keeping only the first <i>exemplars</i>
+     * for each code, status and kind
+     * <pre>
+     *      None none = records.parallelStream()
+     *          .map(this::reconcile)
+     *          .collect(None.collectHistogram(5));
+     *      none.counts().forEach(c -&gt; report(c.code(), c.occurrences()));  </pre>
+     *
+     * @param exemplars number of signals kept for each code, status and kind
+     * @return collector.
+     * @see #histogramBuilder(int)
+     */
+    static @NotNull Collector<ItemStatus, NoneBuilder, None> collectHistogram(int exemplars) {
+        if (exemplars < 1)
+            throw new IllegalArgumentException();
+        return new PmCollector(() -> histogramBuilder(exemplars));
+    }
+
     /**
      * Set the action on success
      * <p>
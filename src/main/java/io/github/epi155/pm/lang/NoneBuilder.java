@@ -35,8 +35,8 @@ public interface NoneBuilder extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull NoneBuilder withAlert(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Warning warn = PmWarning.of(site, ce, argv);
         add(warn);
         return this;
     }
@@ -50,8 +50,8 @@ public interface NoneBuilder extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull NoneBuilder withAlert(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Warning warn = PmWarning.of(properties, site, ce, argv);
         add(warn);
         return this;
     }
@@ -64,8 +64,8 @@ public interface NoneBuilder extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull NoneBuilder withFault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(site, ce, argv);
         add(fail);
         return this;
     }
@@ -79,8 +79,8 @@ public interface NoneBuilder extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull NoneBuilder withFault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(properties, site, ce, argv);
         add(fail);
         return this;
     }
@@ -57,8 +57,8 @@ public interface Nope extends SingleError, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull Nope fault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        return new PmNope(PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv));
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmNope(PmFailure.of(site, ce, argv));
     }
 
     /**
@@ -71,8 +71,8 @@ public interface Nope extends SingleError, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull Nope fault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        return new PmNope(PmFailure.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv));
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmNope(PmFailure.of(properties, site, ce, argv));
     }
 
     /**
@@ -89,8 +89,7 @@ public interface Nope extends SingleError, OnlyError {
      */
     @NoBuiltInCapture
     static @NotNull Nope capture(@NotNull Throwable t) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         return new PmNope(PmTrouble.of(t, caller));
     }
 
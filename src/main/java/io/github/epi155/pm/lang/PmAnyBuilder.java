@@ -3,30 +3,30 @@ package io.github.epi155.pm.lang;
 import org.jetbrains.annotations.NotNull;
 
 abstract class PmAnyBuilder extends PmMutableStatus implements ErrorBuilder {
-    private static final int J11_LOCATE = 2;
-
-    protected static final int J_LOCATE = J11_LOCATE;
+    /**
+     * depth of the user frame above the library method that raises the signal
+     */
+    protected static final int J_LOCATE = 1;
 
     @Override
     public @NotNull Failure fault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(stPtr[J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, J_LOCATE);
+        @NotNull Failure fail = PmFailure.unshared(site, ce, argv);
         add(fail);
         return fail;
     }
 
     @Override
     public @NotNull Warning alert(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(stPtr[J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, J_LOCATE);
+        @NotNull Warning warn = PmWarning.unshared(site, ce, argv);
         add(warn);
         return warn;
     }
 
     @Override
     public void capture(@NotNull Throwable t) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(J_LOCATE);
         add(PmTrouble.of(t, caller));
     }
 
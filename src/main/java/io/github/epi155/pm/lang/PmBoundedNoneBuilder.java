@@ -0,0 +1,117 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * NoneBuilder that keeps at most maxSignals signals, and at most maxPerCode for each code/status/kind;
+ * the other signals are only counted. The first error is always kept,
+ * so the outcome (errors, warnings, success) of the retained signals is the real one.
+ * With maxSignals unbounded it is a histogram: counters plus the first maxPerCode exemplars of each code.
+ * errorCount()/warningCount() include the dropped signals, as the counters of the built None.
+ */
+class PmBoundedNoneBuilder extends PmNoneBuilder {
+    private final int maxSignals;
+    private final int maxPerCode;
+    private final AtomicLong retained = new AtomicLong();
+    private final AtomicBoolean failureRetained = new AtomicBoolean();
+    private final ConcurrentMap<String, SignalCount.Tally> tallies = new ConcurrentHashMap<>();
+    private final LongAdder droppedErrors = new LongAdder();
+    private final LongAdder droppedWarnings = new LongAdder();
+
+    PmBoundedNoneBuilder(int maxSignals, int maxPerCode) {
+        if (maxSignals < 1 || maxPerCode < 1)
+            throw new IllegalArgumentException();
+        this.maxSignals = maxSignals;
+        this.maxPerCode = maxPerCode;
+    }
+
+    @Override
+    public void add(@NotNull Signal signal) {
+        boolean failure = signal instanceof Failure;
+        SignalCount.Tally tally = SignalCount.tallyOf(tallies, signal.code(), signal.status(), failure);
+        if (retain(signal, tally)) {
+            super.add(signal);
+        } else {
+            drop(tally, failure, 1);
+        }
+    }
+
+    private boolean retain(@NotNull Signal signal, @NotNull SignalCount.Tally tally) {
+        if (signal instanceof Failure && !failureRetained.get() && failureRetained.compareAndSet(false, true)) {
+            tally.retained.incrementAndGet();
+            retained.incrementAndGet();
+            return true;
+        }
+        if (tally.retained.incrementAndGet() > maxPerCode) {
+            tally.retained.decrementAndGet();
+            return false;
+        }
+        if (retained.incrementAndGet() > maxSignals) {
+            retained.decrementAndGet();
+            tally.retained.decrementAndGet();
+            return false;
+        }
+        if (signal instanceof Failure)
+            failureRetained.set(true);
+        return true;
+    }
+
+    @Override
+    public void add(@NotNull ItemStatus any) {
+        add(any.signals());
+        if (any instanceof ManyErrors) {
+            // a bounded None: keep its dropped counters too
+            for (SignalCount count : ((ManyErrors) any).counts()) {
+                drop(count);
+            }
+        }
+    }
+
+    /*
+     * used by the parallel collector to combine partial results
+     */
+    void merge(@NotNull PmBoundedNoneBuilder other) {
+        add(other.signals());
+        SignalCount.snapshot(other.tallies.values()).forEach(this::drop);
+    }
+
+    private void drop(@NotNull SignalCount count) {
+        if (count.dropped() > 0)
+            drop(SignalCount.tallyOf(tallies, count.code(), count.status(), count.isFailure()), count.isFailure(), count.dropped());
+    }
+
+    private void drop(@NotNull SignalCount.Tally tally, boolean failure, long n) {
+        tally.dropped.addAndGet(n);
+        (failure ? droppedErrors : droppedWarnings).add(n);
+    }
+
+    @Override
+    public long errorCount() {
+        return super.errorCount() + droppedErrors.sum();
+    }
+
+    @Override
+    public long warningCount() {
+        return super.warningCount() + droppedWarnings.sum();
+    }
+
+    @Override
+    public void add(@NotNull Collection<? extends Signal> signals) {
+        for (Signal signal : signals) {
+            add(signal);
+        }
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None build() {
+        return new PmNone(signals(), SignalCount.snapshot(tallies.values()));
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stack position where a signal has been raised.
+ * <p>
+ * The raw frame is kept as captured, the <i>place</i> string is rendered
+ * only when someone reads it.
+ * </p>
+ */
+abstract class PmCallSite {
+    private String place;
+
+    /**
+     * Locate the call site, when required by the capture policy of the message.
+     * <p>
+     * {@code depth} 0 is the method calling {@code locate}, 1 is its caller, and so on.
+     * </p>
+     *
+     * @param ce    custom message
+     * @param depth number of frames to skip above the invoking method
+     * @return call site, or <i>null</i> if the policy doesn't require it
+     */
+    static @Nullable PmCallSite locate(@NotNull CustMsg ce, int depth) {
+        CapturePolicy policy = ce.capturePolicy();
+        if (policy == null || policy.capture(ce.code())) {
+            return PmStackWalker.frame(depth + 1);
+        }
+        return null;
+    }
+
+    protected abstract String className();
+
+    protected abstract String methodName();
+
+    protected abstract String fileName();
+
+    protected abstract int lineNumber();
+
+    /**
+     * Rendered position, format: class-&gt;method(file:line)
+     *
+     * @return rendered position
+     */
+    @NotNull String place() {
+        String text = place;
+        if (text == null) {
+            // racy single-check: String is immutable, concurrent readers may at most render twice
+            text = className() + "->" + methodName() + "(" + fileName() + ":" + lineNumber() + ")";
+            place = text;
+        }
+        return text;
+    }
+
+    boolean sameMethodOf(@NotNull StackTraceElement stackElem) {
+        return stackElem.getClassName().equals(className()) && stackElem.getMethodName().equals(methodName());
+    }
+
+    @Override
+    public String toString() {
+        return place();
+    }
+}
@@ -190,15 +190,9 @@ class PmChooseMapContext<T, R> implements ChooseMapContext<T, R> {
                 if (result.completeSuccess()) {
                     return new PmSome<>(result.value(), parent.signals());
                 } else if (result.completeWithErrors()) {
-                    @NotNull SomeBuilder<R> bld = Some.builder();
-                    bld.add(parent.signals());  // parent warnings
-                    bld.add(result.signals()); // result errors (warnings)
-                    return bld.build();
+                    return new PmSome<>(PmSignals.concat(parent.signals(), result.signals()));  // parent warnings, result errors (warnings)
                 } else /*result.completeWithWarnings()*/ {
-                    @NotNull SomeBuilder<R> bld = Some.builder();
-                    bld.add(parent.signals());  // parent warnings
-                    bld.add(result.signals());  // result warnings
-                    return bld.buildWithValue(result.value());
+                    return new PmSome<>(result.value(), PmSignals.concat(parent.signals(), result.signals()));  // parent warnings, result warnings
                 }
             }
         }
@@ -251,10 +251,7 @@ class PmChooseNixContext<T> implements ChooseNixContext<T> {
             } else if (result == null || result.completeSuccess()) {
                 return new PmNone(parent.signals());    // parent warnings
             } else {
-                @NotNull NoneBuilder bld = None.builder();
-                bld.add(parent.signals()); // parent warnings
-                bld.add(result.signals()); // result errors/warnings
-                return bld.build();
+                return new PmNone(PmSignals.concat(parent.signals(), result.signals()));  // parent warnings, result errors/warnings
             }
         }
     }
@@ -1,6 +1,7 @@
 package io.github.epi155.pm.lang;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
@@ -9,9 +10,32 @@ import java.util.function.Supplier;
 import java.util.stream.Collector;
 
 class PmCollector implements Collector<ItemStatus, NoneBuilder, None> {
+    /*
+     * a single builder shared by every thread of the stream: the builders accumulate
+     * concurrently (striped queues), the order of the signals is not kept
+     */
+    static final Set<Characteristics> CONCURRENT = Collections.unmodifiableSet(
+        EnumSet.of(Characteristics.CONCURRENT, Characteristics.UNORDERED));
+
+    private final Supplier<NoneBuilder> supplier;
+    private final Set<Characteristics> characteristics;
+
+    PmCollector() {
+        this(None::builder);
+    }
+
+    PmCollector(Supplier<NoneBuilder> supplier) {
+        this(supplier, Collections.emptySet());
+    }
+
+    PmCollector(Supplier<NoneBuilder> supplier, Set<Characteristics> characteristics) {
+        this.supplier = supplier;
+        this.characteristics = characteristics;
+    }
+
     @Override
     public Supplier<NoneBuilder> supplier() {
-        return None::builder;
+        return supplier;
     }
 
     @Override
@@ -21,7 +45,13 @@ class PmCollector implements Collector<ItemStatus, NoneBuilder, None> {
 
     @Override
     public BinaryOperator<NoneBuilder> combiner() {
-        return NoneBuilder::withStatus;
+        return (left, right) -> {
+            if (left instanceof PmBoundedNoneBuilder && right instanceof PmBoundedNoneBuilder) {
+                ((PmBoundedNoneBuilder) left).merge((PmBoundedNoneBuilder) right);
+                return left;
+            }
+            return left.withStatus(right);
+        };
     }
 
     @Override
@@ -31,6 +61,6 @@ class PmCollector implements Collector<ItemStatus, NoneBuilder, None> {
 
     @Override
     public Set<Characteristics> characteristics() {
-        return Collections.emptySet();
+        return characteristics;
     }
 }
@@ -2,7 +2,10 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 class PmDummyLoopConsumer<U, V> implements LoopConsumer<U> {
@@ -12,6 +15,25 @@ class PmDummyLoopConsumer<U, V> implements LoopConsumer<U> {
         this.anyValue = anyValue;
     }
 
+    @Override
+    public @NotNull LoopConsumer<U> failFast() {
+        return this;
+    }
+
+    @Override
+    public @NotNull LoopConsumer<U> maxErrors(long n) {
+        if (n < 1)
+            throw new IllegalArgumentException();
+        return this;
+    }
+
+    @Override
+    public @NotNull LoopConsumer<U> maxErrorRate(double rate, long minItems) {
+        if (!(rate >= 0 && rate < 1) || minItems < 1)
+            throw new IllegalArgumentException();
+        return this;
+    }
+
     @Override
     @NoBuiltInCapture
     public @NotNull None forEach(@NotNull Function<? super U, ? extends ItemStatus> fcn) {
@@ -24,9 +46,45 @@ class PmDummyLoopConsumer<U, V> implements LoopConsumer<U> {
         return None.of(anyValue);
     }
 
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None forEachBatch(int size, @NotNull Function<? super List<U>, ? extends ItemStatus> fcn) {
+        return None.of(anyValue);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None forEachBatchParallel(int size, int maxThread, @NotNull Function<? super List<U>, ? extends ItemStatus> fcn) {
+        return None.of(anyValue);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull <R> Some<List<R>> mapParallel(int maxThread, @NotNull Function<? super U, ? extends AnyValue<R>> fcn) {
+        return None.of(anyValue).mapOf(Collections::emptyList);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull <R> None mapParallel(int maxThread, @NotNull Function<? super U, ? extends AnyValue<R>> fcn, @NotNull Consumer<? super R> sink) {
+        return None.of(anyValue);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None forEachVirtual(int maxConcurrency, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        return None.of(anyValue);
+    }
+
     @Override
     @NoBuiltInCapture
     public @NotNull None forEachParallel(@NotNull ExecutorService executor, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
         return None.of(anyValue);
     }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None forEachParallel(@NotNull ExecutorService executor, int maxPending, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        return None.of(anyValue);
+    }
 }
@@ -1,130 +1,180 @@
 package io.github.epi155.pm.lang;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 abstract class PmFinalStatus implements ItemStatus {
-    private static final String L_SUCCESS = "Success";
-    private static final String L_WARNIGS = "Warnings";
-    private static final String L_ERRORS = "Errors";
     private final Collection<Signal> signals;
-    private final Collection<Warning> alerts;
-    private final boolean zSuccess;
-    private final boolean zErrors;
-    private final boolean zAlerts;
+    private final long nmErrors;
+    private final long nmAlerts;
+    /*
+     * warnings, partitioned on the first request
+     */
+    private volatile Collection<Warning> alerts;
+    /*
+     * counters of a bounded builder, null when every signal is retained (computed on demand)
+     */
+    private final List<SignalCount> counts;
+    /*
+     * query index, built on the first query and shared with the statuses copied from this one
+     */
+    private volatile PmSignalIndex index;
 
     protected PmFinalStatus(Collection<? extends Signal> signals) {
-        this.signals = Collections.unmodifiableCollection(signals);
-        List<Warning> warnings = new ArrayList<>();
-        boolean kErrors = false;
-        for (Signal signal : getSignalsQueue()) {
-            if (signal instanceof Warning) {
-                warnings.add((Warning) signal);
-            } else {
-                kErrors = true;
+        this(signals, null);
+    }
+
+    /*
+     * the signals of a status (PmSignals) carry their counters, other collections are counted once;
+     * the signals dropped by a bounded builder are added to the counters
+     */
+    protected PmFinalStatus(Collection<? extends Signal> signals, List<SignalCount> counts) {
+        PmSignals view = PmSignals.of(signals);
+        long errors = view.errors;
+        long warnings = view.warnings;
+        if (counts != null) {
+            for (SignalCount count : counts) {
+                if (count.isFailure()) errors += count.dropped();
+                else warnings += count.dropped();
             }
         }
-        this.alerts = Collections.unmodifiableCollection(warnings);
-        this.zSuccess = signals.isEmpty();
-        this.zErrors = kErrors;
-        this.zAlerts = !kErrors && !alerts.isEmpty();
+        this.signals = view;
+        this.nmErrors = errors;
+        this.nmAlerts = warnings;
+        this.counts = counts;
+    }
+
+    /*
+     * signals and alerts already partitioned, possibly lazy views
+     */
+    protected PmFinalStatus(Collection<Signal> signals, Collection<Warning> alerts, long errors) {
+        this.signals = signals;
+        this.alerts = alerts;
+        this.nmErrors = errors;
+        this.nmAlerts = alerts.size();
+        this.counts = null;
     }
 
     protected PmFinalStatus() {
         this.signals = Collections.emptyList();
         this.alerts = Collections.emptyList();
-        this.zSuccess = true;
-        this.zAlerts = false;
-        this.zErrors = false;
+        this.nmErrors = 0;
+        this.nmAlerts = 0;
+        this.counts = null;
     }
 
     protected PmFinalStatus(PmFinalStatus status) {
         this.signals = status.signals;
         this.alerts = status.alerts;
-        this.zSuccess = status.zSuccess;
-        this.zAlerts = status.zAlerts;
-        this.zErrors = status.zErrors;
+        this.nmErrors = status.nmErrors;
+        this.nmAlerts = status.nmAlerts;
+        this.counts = status.counts;
+        this.index = status.index;
     }
 
-    protected Collection<Signal> getSignalsQueue() {
-        return signals;
-    }
     @Override
     public Collection<Signal> signals() {
         return signals;
     }
 
-    public Collection<Warning> alerts() {
-        return alerts;
-    }
     @Override
-    public boolean completeSuccess() {
-        return zSuccess;
+    public long errorCount() {
+        return nmErrors;
     }
 
     @Override
-    public boolean completeWarning() {
-        return zAlerts;
+    public long warningCount() {
+        return nmAlerts;
     }
 
-    @Override
-    public boolean completeWithErrors() {
-        return zErrors;
+    public @NotNull Collection<SignalCount> counts() {
+        return Collections.unmodifiableList(counts == null ? SignalCount.countOf(signals) : counts);
+    }
+
+    public @NotNull List<Signal> signalsByCode(@NotNull String code) {
+        return index().byCode(code);
     }
 
+    public @NotNull List<Signal> signalsByStatus(int from, int to) {
+        return index().byStatus(from, to);
+    }
 
-    public String toString() {
-        String status = labelStatus();
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        pw.printf("{ finalStatus: %s", status);
-        extraToString(pw);
-        if (!alerts.isEmpty()) {
-            pw.print(", warnings: [ ");
-            dumpAlerts(pw);
-            pw.print(" ]");
-        }
-        if (zErrors) {
-            pw.print(", errors: [ ");
-            dumpFailure(pw);
-            pw.print(" ]");
+    public @NotNull List<Failure> failures() {
+        return index().failures();
+    }
+
+    public @NotNull Set<String> codes() {
+        return index().codes();
+    }
+
+    private @NotNull PmSignalIndex index() {
+        PmSignalIndex idx = index;
+        if (idx == null) {
+            synchronized (this) {
+                idx = index;
+                if (idx == null) {
+                    index = idx = PmSignalIndex.of(signals, Math.min(nmErrors, signals.size()));
+                }
+            }
         }
-        pw.print(" }");
-        return sw.toString();
+        return idx;
     }
 
-    private void dumpFailure(PrintWriter pw) {
-        boolean append = false;
-        for (Signal signal : signals) {
-            if (signal instanceof Failure) {
-                if (append) pw.print(", ");
-                pw.print(signal);
-                append = true;
+    protected long dropped() {
+        long n = 0;
+        if (counts != null) {
+            for (SignalCount count : counts) {
+                n += count.dropped();
             }
         }
+        return n;
     }
 
-    private void dumpAlerts(PrintWriter pw) {
-        boolean append = false;
-        for (Warning alert : alerts) {
-            if (append) pw.print(", ");
-            pw.print(alert.toString());
-            append = true;
+    public Collection<Warning> alerts() {
+        Collection<Warning> warnings = alerts;
+        if (warnings == null) {
+            if (nmAlerts == 0) {
+                warnings = Collections.emptyList();
+            } else {
+                List<Warning> list = new ArrayList<>((int) Math.min(nmAlerts, signals.size()));
+                for (Signal signal : signals) {
+                    if (signal instanceof Warning) list.add((Warning) signal);
+                }
+                warnings = Collections.unmodifiableList(list);
+            }
+            alerts = warnings;
         }
+        return warnings;
+    }
+    @Override
+    public boolean completeSuccess() {
+        return nmErrors == 0 && nmAlerts == 0;
     }
 
-    private String labelStatus() {
-        if (zSuccess)
-            return L_SUCCESS;
-        if (zErrors)
-            return L_ERRORS;
-        return L_WARNIGS;
+    @Override
+    public boolean completeWarning() {
+        return nmErrors == 0 && nmAlerts > 0;
+    }
+
+    @Override
+    public boolean completeWithErrors() {
+        return nmErrors > 0;
+    }
+
+
+    public String toString() {
+        return PmReport.toString(this);
     }
 
-    protected void extraToString(PrintWriter pw) {
+    /*
+     * appended after the status label
+     */
+    protected void extraToString(Appendable out) throws IOException {
     }
 }
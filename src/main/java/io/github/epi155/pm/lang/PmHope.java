@@ -2,11 +2,14 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.io.PrintWriter;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Class to handle a &lt;T&gt; value as an alternative to an error {@link Failure}.
@@ -82,6 +85,24 @@ class PmHope<T> extends PmSingleError implements Hope<T> {
         return completeSuccess() ? new PmSome<>(fcn.apply(value)) : new PmSome<>(Collections.singletonList(failure()));
     }
 
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeInt mapToInt(@NotNull ToIntFunction<? super T> fcn) {
+        return completeSuccess() ? new PmHopeInt(fcn.applyAsInt(value), null) : new PmHopeInt(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeLong mapToLong(@NotNull ToLongFunction<? super T> fcn) {
+        return completeSuccess() ? new PmHopeLong(fcn.applyAsLong(value), null) : new PmHopeLong(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeDouble mapToDouble(@NotNull ToDoubleFunction<? super T> fcn) {
+        return completeSuccess() ? new PmHopeDouble(fcn.applyAsDouble(value), null) : new PmHopeDouble(0, failure());
+    }
+
     @Override
     @NoBuiltInCapture
     public @NotNull Hope<T> implies(@NotNull Consumer<? super T> action) {
@@ -147,9 +168,10 @@ class PmHope<T> extends PmSingleError implements Hope<T> {
     }
 
     @Override
-    protected void extraToString(PrintWriter pw) {
+    protected void extraToString(Appendable out) throws IOException {
         if (value != null) {
-            pw.printf("finalValue: %s!%s%n", value.getClass().getName(), value);
+            out.append("finalValue: ").append(value.getClass().getName()).append('!').append(String.valueOf(value))
+                .append(System.lineSeparator());
         }
     }
 
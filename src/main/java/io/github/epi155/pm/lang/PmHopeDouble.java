@@ -0,0 +1,107 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+/**
+ * Class to handle a <i>double</i> value as an alternative to an error {@link Failure}.
+ */
+class PmHopeDouble extends PmPrimitiveHope implements HopeDouble {
+    private final double value;
+
+    protected PmHopeDouble(double value, Failure fault) {
+        super(fault);
+        this.value = value;
+    }
+
+    @Override
+    public double value() {
+        if (completeSuccess()) {
+            return value;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeInt mapToInt(@NotNull DoubleToIntFunction fcn) {
+        return completeSuccess() ? new PmHopeInt(fcn.applyAsInt(value), null) : new PmHopeInt(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeLong mapToLong(@NotNull DoubleToLongFunction fcn) {
+        return completeSuccess() ? new PmHopeLong(fcn.applyAsLong(value), null) : new PmHopeLong(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeDouble mapToDouble(@NotNull DoubleUnaryOperator fcn) {
+        return completeSuccess() ? new PmHopeDouble(fcn.applyAsDouble(value), null) : new PmHopeDouble(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull <R> Hope<R> mapToObj(@NotNull DoubleFunction<? extends R> fcn) {
+        return completeSuccess() ? Hope.of(fcn.apply(value)) : failed();
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeDouble maps(@NotNull DoubleFunction<? extends HopeDouble> fcn) {
+        return completeSuccess() ? fcn.apply(value) : this;
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull Nope ergoes(@NotNull DoubleFunction<? extends SingleError> fcn) {
+        return nopeOf(completeSuccess() ? fcn.apply(value) : this);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None ergo(@NotNull DoubleFunction<? extends ItemStatus> fcn) {
+        return noneOf(completeSuccess() ? fcn.apply(value) : this);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeDouble implies(@NotNull DoubleConsumer action) {
+        if (completeSuccess()) {
+            action.accept(value);
+        }
+        return this;
+    }
+
+    @Override
+    public @NotNull Glitch onSuccess(@NotNull DoubleConsumer action) {
+        if (completeSuccess()) {
+            action.accept(value);
+        }
+        return glitch();
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull Hope<Double> boxed() {
+        return completeSuccess() ? new PmHope<>(value, null) : failed();
+    }
+
+    @Override
+    public <R> R mapTo(DoubleFunction<R> onSuccess, Function<Failure, R> onFailure) {
+        return completeSuccess() ? onSuccess.apply(value) : onFailure.apply(failure());
+    }
+
+    @Override
+    protected @NotNull String valueText() {
+        return "double!" + value;
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Class to handle a <i>int</i> value as an alternative to an error {@link Failure}.
+ */
+class PmHopeInt extends PmPrimitiveHope implements HopeInt {
+    private final int value;
+
+    protected PmHopeInt(int value, Failure fault) {
+        super(fault);
+        this.value = value;
+    }
+
+    @Override
+    public int value() {
+        if (completeSuccess()) {
+            return value;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeInt mapToInt(@NotNull IntUnaryOperator fcn) {
+        return completeSuccess() ? new PmHopeInt(fcn.applyAsInt(value), null) : new PmHopeInt(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeLong mapToLong(@NotNull IntToLongFunction fcn) {
+        return completeSuccess() ? new PmHopeLong(fcn.applyAsLong(value), null) : new PmHopeLong(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeDouble mapToDouble(@NotNull IntToDoubleFunction fcn) {
+        return completeSuccess() ? new PmHopeDouble(fcn.applyAsDouble(value), null) : new PmHopeDouble(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull <R> Hope<R> mapToObj(@NotNull IntFunction<? extends R> fcn) {
+        return completeSuccess() ? Hope.of(fcn.apply(value)) : failed();
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeInt maps(@NotNull IntFunction<? extends HopeInt> fcn) {
+        return completeSuccess() ? fcn.apply(value) : this;
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull Nope ergoes(@NotNull IntFunction<? extends SingleError> fcn) {
+        return nopeOf(completeSuccess() ? fcn.apply(value) : this);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None ergo(@NotNull IntFunction<? extends ItemStatus> fcn) {
+        return noneOf(completeSuccess() ? fcn.apply(value) : this);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeInt implies(@NotNull IntConsumer action) {
+        if (completeSuccess()) {
+            action.accept(value);
+        }
+        return this;
+    }
+
+    @Override
+    public @NotNull Glitch onSuccess(@NotNull IntConsumer action) {
+        if (completeSuccess()) {
+            action.accept(value);
+        }
+        return glitch();
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull Hope<Integer> boxed() {
+        return completeSuccess() ? new PmHope<>(value, null) : failed();
+    }
+
+    @Override
+    public <R> R mapTo(IntFunction<R> onSuccess, Function<Failure, R> onFailure) {
+        return completeSuccess() ? onSuccess.apply(value) : onFailure.apply(failure());
+    }
+
+    @Override
+    protected @NotNull String valueText() {
+        return "int!" + value;
+    }
+}
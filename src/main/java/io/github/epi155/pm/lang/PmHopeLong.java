@@ -0,0 +1,107 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Class to handle a <i>long</i> value as an alternative to an error {@link Failure}.
+ */
+class PmHopeLong extends PmPrimitiveHope implements HopeLong {
+    private final long value;
+
+    protected PmHopeLong(long value, Failure fault) {
+        super(fault);
+        this.value = value;
+    }
+
+    @Override
+    public long value() {
+        if (completeSuccess()) {
+            return value;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeInt mapToInt(@NotNull LongToIntFunction fcn) {
+        return completeSuccess() ? new PmHopeInt(fcn.applyAsInt(value), null) : new PmHopeInt(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeLong mapToLong(@NotNull LongUnaryOperator fcn) {
+        return completeSuccess() ? new PmHopeLong(fcn.applyAsLong(value), null) : new PmHopeLong(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeDouble mapToDouble(@NotNull LongToDoubleFunction fcn) {
+        return completeSuccess() ? new PmHopeDouble(fcn.applyAsDouble(value), null) : new PmHopeDouble(0, failure());
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull <R> Hope<R> mapToObj(@NotNull LongFunction<? extends R> fcn) {
+        return completeSuccess() ? Hope.of(fcn.apply(value)) : failed();
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeLong maps(@NotNull LongFunction<? extends HopeLong> fcn) {
+        return completeSuccess() ? fcn.apply(value) : this;
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull Nope ergoes(@NotNull LongFunction<? extends SingleError> fcn) {
+        return nopeOf(completeSuccess() ? fcn.apply(value) : this);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull None ergo(@NotNull LongFunction<? extends ItemStatus> fcn) {
+        return noneOf(completeSuccess() ? fcn.apply(value) : this);
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull HopeLong implies(@NotNull LongConsumer action) {
+        if (completeSuccess()) {
+            action.accept(value);
+        }
+        return this;
+    }
+
+    @Override
+    public @NotNull Glitch onSuccess(@NotNull LongConsumer action) {
+        if (completeSuccess()) {
+            action.accept(value);
+        }
+        return glitch();
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public @NotNull Hope<Long> boxed() {
+        return completeSuccess() ? new PmHope<>(value, null) : failed();
+    }
+
+    @Override
+    public <R> R mapTo(LongFunction<R> onSuccess, Function<Failure, R> onFailure) {
+        return completeSuccess() ? onSuccess.apply(value) : onFailure.apply(failure());
+    }
+
+    @Override
+    protected @NotNull String valueText() {
+        return "long!" + value;
+    }
+}
@@ -0,0 +1,510 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/*
+ * Loop of a NoneBuilder over an Iterable or a Stream, of values (AnyValue) or of plain items.
+ * Without a budget the source is consumed with its own forEach;
+ * with a budget it is pulled with an iterator, so that feeding can stop.
+ */
+class PmLoop<U> implements LoopBuilderConsumer<U> {
+    /*
+     * default number of submissions in flight of the executor loop
+     */
+    private static final int EXECUTOR_WINDOW = 1024;
+    /*
+     * max size of the reorder buffer of the ordered map (4 results per thread, at least 64)
+     */
+    private static final int MAX_REORDER = 4096;
+
+    private final PmNoneBuilder bld;
+    private final boolean values;
+    private final Consumer<Consumer<Object>> each;
+    private final Supplier<Iterator<?>> iterator;
+    private final PmLoopBudget budget;
+
+    private PmLoop(PmNoneBuilder bld, boolean values, Consumer<Consumer<Object>> each, Supplier<Iterator<?>> iterator, PmLoopBudget budget) {
+        this.bld = bld;
+        this.values = values;
+        this.each = each;
+        this.iterator = iterator;
+        this.budget = budget;
+    }
+
+    static <U> @NotNull PmLoop<U> iterable(@NotNull PmNoneBuilder bld, @NotNull Iterable<? extends AnyValue<U>> iterable) {
+        return new PmLoop<>(bld, true, iterable::forEach, iterable::iterator, PmLoopBudget.UNBOUNDED);
+    }
+
+    static <U> @NotNull PmLoop<U> iterableOf(@NotNull PmNoneBuilder bld, @NotNull Iterable<? extends U> iterable) {
+        return new PmLoop<>(bld, false, iterable::forEach, iterable::iterator, PmLoopBudget.UNBOUNDED);
+    }
+
+    static <U> @NotNull PmLoop<U> stream(@NotNull PmNoneBuilder bld, @NotNull Stream<? extends AnyValue<U>> stream) {
+        return new PmLoop<>(bld, true, stream::forEach, stream::iterator, PmLoopBudget.UNBOUNDED);
+    }
+
+    static <U> @NotNull PmLoop<U> streamOf(@NotNull PmNoneBuilder bld, @NotNull Stream<? extends U> stream) {
+        return new PmLoop<>(bld, false, stream::forEach, stream::iterator, PmLoopBudget.UNBOUNDED);
+    }
+
+    @Override
+    public @NotNull LoopBuilderConsumer<U> failFast() {
+        return maxErrors(1);
+    }
+
+    @Override
+    public @NotNull LoopBuilderConsumer<U> maxErrors(long n) {
+        return new PmLoop<>(bld, values, each, iterator, budget.withMaxErrors(n));
+    }
+
+    @Override
+    public @NotNull LoopBuilderConsumer<U> maxErrorRate(double rate, long minItems) {
+        return new PmLoop<>(bld, values, each, iterator, budget.withMaxErrorRate(rate, minItems));
+    }
+
+    /*
+     * feeds the items to the action until the run is stopped
+     */
+    private void feed(PmLoopBudget.Run run, Consumer<Object> action) {
+        if (run == null) {
+            each.accept(action);
+        } else {
+            Iterator<?> it = iterator.get();
+            while (!run.stopped() && it.hasNext()) {
+                action.accept(it.next());
+            }
+        }
+    }
+
+    /*
+     * feeds the items of a parallel loop: it stops as well when the feeding thread is interrupted,
+     * since the engine discards the items from then on, and records the items handed over with a warning
+     */
+    private void feedParallel(PmLoopBudget.Run run, Consumer<Object> action) {
+        Iterator<?> it = iterator.get();
+        Thread self = Thread.currentThread();
+        long fed = 0;
+        while ((run == null || !run.stopped()) && it.hasNext()) {
+            action.accept(it.next());
+            fed++;
+            if (self.isInterrupted()) {
+                bld.add(PmWarning.of(null, EnumMessage.LOOP_INT, fed));
+                return;
+            }
+        }
+    }
+
+    private PmLoopBudget.Run start() {
+        return budget.unbounded() ? null : budget.start(bld);
+    }
+
+    private static void account(PmLoopBudget.Run run, ItemStatus status) {
+        if (run != null) run.account(status);
+    }
+
+    private static void account(PmLoopBudget.Run run, long count, ItemStatus status) {
+        if (run != null) run.account(count, status);
+    }
+
+    private static void finish(PmLoopBudget.Run run) {
+        if (run != null) run.finish();
+    }
+
+    /*
+     * adds the signals of a value, false if it has errors (nothing to process)
+     */
+    private boolean admit(Object item, PmLoopBudget.Run run) {
+        if (!values)
+            return true;
+        AnyValue<?> u = (AnyValue<?>) item;
+        if (u.completeWithErrors()) {
+            bld.add(u.signals());      // add U error & warning
+            account(run, u);
+            return false;
+        }
+        if (!u.completeSuccess()) {
+            bld.add(u.signals());       // add U warning
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private U valueOf(Object item) {
+        return values ? ((AnyValue<U>) item).value() : (U) item;
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEach(@NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        PmLoopBudget.Run run = start();
+        feed(run, item -> {
+            if (admit(item, run)) {
+                ItemStatus status = fcn.apply(valueOf(item));
+                bld.add(status);
+                account(run, status);
+            }
+        });
+        finish(run);
+        return bld;
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEachParallel(int maxThread, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        if (maxThread < 1)
+            throw new IllegalArgumentException();
+        PmLoopBudget.Run run = start();
+        PmWorkerPool pool = new PmWorkerPool(maxThread, bld, run, item -> fcn.apply(valueOf(item)));
+        try {
+            feedParallel(run, item -> {
+                if (admit(item, run)) {
+                    pool.submit(item);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        finish(run);
+        return bld;
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEachBatch(int size, @NotNull Function<? super List<U>, ? extends ItemStatus> fcn) {
+        if (size < 1)
+            throw new IllegalArgumentException();
+        PmLoopBudget.Run run = start();
+        Batches<U> batches = new Batches<>(size);
+        feed(run, item -> {
+            if (admit(item, run)) {
+                List<U> batch = batches.add(valueOf(item));
+                if (batch != null) consumeBatch(batch, fcn, run, batches);
+            }
+        });
+        List<U> batch = batches.rest();
+        if (batch != null && (run == null || !run.stopped())) {
+            consumeBatch(batch, fcn, run, batches);
+        }
+        finish(run);
+        return bld;
+    }
+
+    private void consumeBatch(List<U> batch, Function<? super List<U>, ? extends ItemStatus> fcn, PmLoopBudget.Run run, Batches<U> batches) {
+        try {
+            ItemStatus status = fcn.apply(Collections.unmodifiableList(batch));
+            bld.add(status);
+            account(run, batch.size(), status);
+        } finally {
+            batches.recycle(batch);
+        }
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEachBatchParallel(int size, int maxThread, @NotNull Function<? super List<U>, ? extends ItemStatus> fcn) {
+        if (size < 1 || maxThread < 1)
+            throw new IllegalArgumentException();
+        PmLoopBudget.Run run = start();
+        Batches<U> batches = new Batches<>(size);
+        // the budget is checked here, since it counts the items of the batch
+        PmWorkerPool pool = new PmWorkerPool(maxThread, bld, null, item -> {
+            @SuppressWarnings("unchecked")
+            List<U> batch = (List<U>) item;
+            try {
+                if (run != null && run.stopped())
+                    return None.none();
+                ItemStatus status = fcn.apply(Collections.unmodifiableList(batch));
+                if (run == null)
+                    return status;
+                bld.add(status);
+                run.account(batch.size(), status);
+                return None.none();
+            } finally {
+                batches.recycle(batch);
+            }
+        });
+        try {
+            feedParallel(run, item -> {
+                if (admit(item, run)) {
+                    List<U> batch = batches.add(valueOf(item));
+                    if (batch != null) pool.submit(batch);
+                }
+            });
+            List<U> batch = batches.rest();
+            if (batch != null) pool.submit(batch);
+        } finally {
+            pool.shutdown();
+        }
+        finish(run);
+        return bld;
+    }
+
+    /*
+     * chunks of a batch loop; the lists are cleared and reused once their batch has been consumed,
+     * so there are only as many as the batches in flight
+     */
+    private static final class Batches<U> {
+        private final int size;
+        private final Queue<List<U>> free = new ConcurrentLinkedQueue<>();
+        private List<U> current;
+
+        private Batches(int size) {
+            this.size = size;
+        }
+
+        /*
+         * feeding thread only: the full batch, or null
+         */
+        private List<U> add(U item) {
+            if (current == null) {
+                current = free.poll();
+                if (current == null) current = new ArrayList<>(size);
+            }
+            current.add(item);
+            if (current.size() < size)
+                return null;
+            List<U> batch = current;
+            current = null;
+            return batch;
+        }
+
+        /*
+         * feeding thread only: the last, partial, batch, or null
+         */
+        private List<U> rest() {
+            List<U> batch = current;
+            current = null;
+            return batch;
+        }
+
+        private void recycle(List<U> batch) {
+            batch.clear();
+            free.add(batch);
+        }
+    }
+
+    @Override
+    public @NotNull <R> NoneBuilder mapParallel(int maxThread, @NotNull Function<? super U, ? extends AnyValue<R>> fcn, @NotNull Consumer<? super R> sink) {
+        if (maxThread < 1)
+            throw new IllegalArgumentException();
+        PmLoopBudget.Run run = start();
+        PmReorderBuffer<R> buffer = new PmReorderBuffer<>((int) Math.min(Math.max(4L * maxThread, 64), MAX_REORDER), sink);
+        // the budget is checked here, the pool skips only the numbers of the items it drops: every number has to be completed
+        PmWorkerPool pool = new PmWorkerPool(maxThread, bld, null, item -> {
+            Numbered numbered = (Numbered) item;
+            if (run != null && run.stopped()) {
+                buffer.skip(numbered.seq);
+                return None.none();
+            }
+            AnyValue<R> result;
+            try {
+                result = fcn.apply(valueOf(numbered.item));
+            } catch (RuntimeException | Error e) {
+                buffer.skip(numbered.seq);
+                throw e;
+            }
+            if (result.completeWithErrors()) {
+                buffer.skip(numbered.seq);
+            } else {
+                buffer.complete(numbered.seq, result.value());
+            }
+            if (run == null)
+                return result;
+            bld.add(result);
+            run.account(result);
+            return None.none();
+        }, item -> buffer.skip(((Numbered) item).seq));
+        try {
+            feedParallel(run, item -> {
+                if (admit(item, run)) {
+                    long seq = buffer.reserve();
+                    if (seq >= 0) pool.submit(new Numbered(seq, item));
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        finish(run);
+        buffer.rethrow();
+        return bld;
+    }
+
+    /*
+     * item of an ordered map, with its position in the source
+     */
+    private static final class Numbered {
+        private final long seq;
+        private final Object item;
+
+        private Numbered(long seq, Object item) {
+            this.seq = seq;
+            this.item = item;
+        }
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEachVirtual(int maxConcurrency, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        if (maxConcurrency < 1)
+            throw new IllegalArgumentException();
+        PmLoopBudget.Run run = start();
+        PmVirtualPool pool = new PmVirtualPool(maxConcurrency, bld, run, item -> fcn.apply(valueOf(item)));
+        try {
+            feedParallel(run, item -> {
+                if (admit(item, run)) {
+                    pool.submit(item);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        finish(run);
+        return bld;
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEachParallel(@NotNull ExecutorService executor, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        return forEachParallel(executor, EXECUTOR_WINDOW, fcn);
+    }
+
+    @Override
+    public @NotNull NoneBuilder forEachParallel(@NotNull ExecutorService executor, int maxPending, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+        if (maxPending < 1)
+            throw new IllegalArgumentException();
+        PmLoopBudget.Run run = start();
+        Window window = new Window(maxPending);
+        Set<Task> pending = run == null ? null : ConcurrentHashMap.newKeySet();
+        if (run != null) {
+            run.onStop(() -> pending.forEach(task -> task.cancel(pending)));
+        }
+        try {
+            feedParallel(run, item -> {
+                if (admit(item, run) && window.acquire()) {
+                    consumeUsingExecutor(valueOf(item), fcn, executor, window, run, pending);
+                }
+            });
+        } finally {
+            window.drain();
+        }
+        finish(run);
+        return bld;
+    }
+
+    private void consumeUsingExecutor(U u, Function<? super U, ? extends ItemStatus> fcn, ExecutorService executor, Window window, PmLoopBudget.Run run, Set<Task> pending) {
+        if (run == null) {
+            try {
+                executor.submit(() -> {
+                    try {
+                        bld.add(fcn.apply(u));
+                    } finally {
+                        window.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                window.release();      // rejected
+                throw e;
+            }
+            return;
+        }
+        Task task = new Task(window);
+        pending.add(task);
+        try {
+            task.future = executor.submit(() -> {
+                if (task.claim()) {
+                    try {
+                        if (!run.stopped()) {
+                            ItemStatus status = fcn.apply(u);
+                            bld.add(status);
+                            account(run, status);
+                        }
+                    } finally {
+                        pending.remove(task);
+                        window.release();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            task.cancel(pending);      // rejected
+            throw e;
+        }
+        if (run.stopped()) {
+            task.cancel(pending);
+        }
+    }
+
+    /*
+     * submissions in flight of the executor loop: the feeding thread takes a permit before each submission,
+     * and waits when there are none, so the source is iterated at the rate the executor consumes it;
+     * the task gives the permit back when it ends (or is cancelled), drain() waits for all of them
+     */
+    private static final class Window {
+        private final Semaphore permits;
+        private final int size;
+
+        private Window(int size) {
+            this.permits = new Semaphore(size);
+            this.size = size;
+        }
+
+        /*
+         * feeding thread only; if it is interrupted the loop stops feeding
+         */
+        private boolean acquire() {
+            try {
+                permits.acquire();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private void release() {
+            permits.release();
+        }
+
+        private void drain() {
+            permits.acquireUninterruptibly(size);
+            permits.release(size);
+        }
+    }
+
+    /*
+     * queued item of the executor loop: either the worker or the canceller claims it,
+     * the one that succeeds gives the permit back
+     */
+    private static final class Task {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final Window window;
+        private volatile Future<?> future;
+
+        private Task(Window window) {
+            this.window = window;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void cancel(Set<Task> pending) {
+            if (claim()) {
+                Future<?> f = future;
+                if (f != null) f.cancel(false);
+                pending.remove(this);
+                window.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Termination policy of a loop: stop after maxErrors errors,
+ * or when errors/items exceeds maxRate once minItems items have been consumed.
+ * The policy is immutable, each loop execution has its own Run.
+ */
+final class PmLoopBudget {
+    static final PmLoopBudget UNBOUNDED = new PmLoopBudget(Long.MAX_VALUE, Double.NaN, Long.MAX_VALUE);
+
+    private final long maxErrors;
+    private final double maxRate;
+    private final long minItems;
+
+    private PmLoopBudget(long maxErrors, double maxRate, long minItems) {
+        this.maxErrors = maxErrors;
+        this.maxRate = maxRate;
+        this.minItems = minItems;
+    }
+
+    @NotNull PmLoopBudget withMaxErrors(long n) {
+        if (n < 1)
+            throw new IllegalArgumentException();
+        return new PmLoopBudget(n, maxRate, minItems);
+    }
+
+    @NotNull PmLoopBudget withMaxErrorRate(double rate, long items) {
+        if (!(rate >= 0 && rate < 1) || items < 1)
+            throw new IllegalArgumentException();
+        return new PmLoopBudget(maxErrors, rate, items);
+    }
+
+    boolean unbounded() {
+        return this == UNBOUNDED;
+    }
+
+    @NotNull Run start(@NotNull PmNoneBuilder bld) {
+        return new Run(bld);
+    }
+
+    /*
+     * errors are counted from the outcome of each item (ItemStatus.errorCount()),
+     * not read from the builder: a bounded builder doesn't retain every error
+     */
+    final class Run {
+        private final PmNoneBuilder bld;
+        private final AtomicLong items = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private Runnable onStop;
+
+        private Run(@NotNull PmNoneBuilder bld) {
+            this.bld = bld;
+        }
+
+        void onStop(Runnable action) {
+            this.onStop = action;
+        }
+
+        boolean stopped() {
+            return stopped.get();
+        }
+
+        /*
+         * called after the outcome of an item has been added to the builder
+         */
+        void account(@NotNull ItemStatus status) {
+            account(1, status);
+        }
+
+        /*
+         * called after the outcome of a batch of items has been added to the builder
+         */
+        void account(long count, @NotNull ItemStatus status) {
+            long n = items.addAndGet(count);
+            long e = errors.addAndGet(status.errorCount());
+            if (stopped.get())
+                return;
+            if ((e >= maxErrors || (n >= minItems && e > maxRate * n)) && stopped.compareAndSet(false, true)) {
+                if (onStop != null) onStop.run();
+            }
+        }
+
+        /*
+         * records the early termination in the builder
+         */
+        void finish() {
+            if (stopped.get()) {
+                bld.add(PmWarning.of(null, EnumMessage.LOOP_STP, items.get(), errors.get()));
+            }
+        }
+    }
+}
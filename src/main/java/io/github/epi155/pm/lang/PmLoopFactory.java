@@ -3,7 +3,10 @@ package io.github.epi155.pm.lang;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 class PmLoopFactory {
@@ -20,6 +23,21 @@ class PmLoopFactory {
     static <U> @NotNull LoopConsumer<U> of(@NotNull LoopBuilderConsumer<? extends U> loop) {
         return new LoopConsumer<U>() {
 
+            @Override
+            public @NotNull LoopConsumer<U> failFast() {
+                return of(loop.failFast());
+            }
+
+            @Override
+            public @NotNull LoopConsumer<U> maxErrors(long n) {
+                return of(loop.maxErrors(n));
+            }
+
+            @Override
+            public @NotNull LoopConsumer<U> maxErrorRate(double rate, long minItems) {
+                return of(loop.maxErrorRate(rate, minItems));
+            }
+
             @Override
             @NoBuiltInCapture
             public @NotNull None forEach(@NotNull Function<? super U, ? extends ItemStatus> fcn) {
@@ -32,11 +50,56 @@ class PmLoopFactory {
                 return loop.forEachParallel(maxThread, fcn).build();
             }
 
+            @Override
+            @NoBuiltInCapture
+            public @NotNull None forEachBatch(int size, @NotNull Function<? super List<U>, ? extends ItemStatus> fcn) {
+                return PmLoopFactory.<U>batched(loop).forEachBatch(size, fcn).build();
+            }
+
+            @Override
+            @NoBuiltInCapture
+            public @NotNull None forEachBatchParallel(int size, int maxThread, @NotNull Function<? super List<U>, ? extends ItemStatus> fcn) {
+                return PmLoopFactory.<U>batched(loop).forEachBatchParallel(size, maxThread, fcn).build();
+            }
+
+            @Override
+            @NoBuiltInCapture
+            public @NotNull <R> Some<List<R>> mapParallel(int maxThread, @NotNull Function<? super U, ? extends AnyValue<R>> fcn) {
+                List<R> results = new ArrayList<>();
+                return loop.mapParallel(maxThread, fcn, results::add).build().mapOf(() -> results);
+            }
+
+            @Override
+            @NoBuiltInCapture
+            public @NotNull <R> None mapParallel(int maxThread, @NotNull Function<? super U, ? extends AnyValue<R>> fcn, @NotNull Consumer<? super R> sink) {
+                return loop.mapParallel(maxThread, fcn, sink).build();
+            }
+
+            @Override
+            @NoBuiltInCapture
+            public @NotNull None forEachVirtual(int maxConcurrency, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+                return loop.forEachVirtual(maxConcurrency, fcn).build();
+            }
+
             @Override
             @NoBuiltInCapture
             public @NotNull None forEachParallel(@NotNull ExecutorService executor, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
                 return loop.forEachParallel(executor, fcn).build();
             }
+
+            @Override
+            @NoBuiltInCapture
+            public @NotNull None forEachParallel(@NotNull ExecutorService executor, int maxPending, @NotNull Function<? super U, ? extends ItemStatus> fcn) {
+                return loop.forEachParallel(executor, maxPending, fcn).build();
+            }
         };
     }
+
+    /*
+     * the batches are read-only lists, so a batch of a subtype of U can be passed as a List<U>
+     */
+    @SuppressWarnings("unchecked")
+    private static <U> @NotNull LoopBuilderConsumer<U> batched(@NotNull LoopBuilderConsumer<? extends U> loop) {
+        return (LoopBuilderConsumer<U>) loop;
+    }
 }
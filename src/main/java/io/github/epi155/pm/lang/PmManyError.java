@@ -3,6 +3,7 @@ package io.github.epi155.pm.lang;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -16,6 +17,14 @@ abstract class PmManyError extends PmFinalStatus implements ManyErrors, Glitches
         super(signals);
     }
 
+    protected PmManyError(Collection<? extends Signal> signals, List<SignalCount> counts) {
+        super(signals, counts);
+    }
+
+    protected PmManyError(Collection<Signal> signals, Collection<Warning> alerts, long errors) {
+        super(signals, alerts, errors);
+    }
+
     protected PmManyError(PmFinalStatus status) {
         super(status);
     }
@@ -30,16 +39,16 @@ abstract class PmManyError extends PmFinalStatus implements ManyErrors, Glitches
     @Override
     public @NotNull Optional<String> summary() {
         if (completeSuccess()) return Optional.empty();
-        if (completeWithoutErrors()) {
-            int nmWrn = signals().size();
+        long nmErr = errorCount();
+        long nmWrn = warningCount();
+        long dropped = dropped();
+        if (dropped > 0)
+            return Optional.of(String.format("%d error(s), %d warning(s) found, %d not retained", nmErr, nmWrn, dropped));
+        if (nmErr == 0) {
             if (nmWrn > 1) return Optional.of(String.format("%d warnings found", nmWrn));
             Signal alert = signals().iterator().next();
             return Optional.of(alert.message());
         }
-        Collection<Warning> alerts = alerts();
-        int nmSig = signals().size();
-        int nmWrn = alerts.size();
-        int nmErr = nmSig - nmWrn;
         if (nmWrn == 0) {
             if (nmErr > 1) return Optional.of(String.format("%d errors found", nmErr));
             Signal error = signals().iterator().next();
@@ -54,15 +63,9 @@ abstract class PmManyError extends PmFinalStatus implements ManyErrors, Glitches
         if (that.completeSuccess()) {
             return new PmSome<>(that.value(), signals());     // this warning
         } else if (that.completeWithErrors()) {
-            @NotNull SomeBuilder<R> bld = Some.builder();
-            bld.add(signals());        // this warning
-            bld.add(that.signals());   // that error (warning)
-            return bld.build();
+            return new PmSome<>(PmSignals.concat(signals(), that.signals()));   // this warning, that error (warning)
         } else /*that.completeWithWarnings()*/{
-            @NotNull SomeBuilder<R> bld = Some.builder();
-            bld.add(signals());        // this warning
-            bld.add(that.signals());   // that warning
-            return bld.buildWithValue(that.value());
+            return new PmSome<>(that.value(), PmSignals.concat(signals(), that.signals()));    // this warning, that warning
         }
     }
 }
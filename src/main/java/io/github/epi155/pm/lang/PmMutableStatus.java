@@ -2,32 +2,132 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
+/*
+ * Signals are accumulated in stripes: the thread that creates the status uses the primary queue,
+ * other threads (forEachParallel workers) use a queue chosen by thread id, created on first use;
+ * an add only touches the queue of its thread, there is no counter shared by all the adds.
+ * Each queue keeps the order of its own adds. When the owner thread adds after other threads did,
+ * it first appends a mark to the primary queue and to the stripes written since the previous mark,
+ * so when the signals are read the runs between marks are merged in order: the signals the owner adds
+ * after a parallel loop come after the signals of the loop, while the order of concurrent adds is undefined.
+ * The status flags only go from true to false, and are written after the signal is queued,
+ * so a reader that sees the flag also sees the signal; the same holds for the counters.
+ * signals() carries the counters of the snapshot it returns (PmSignals), so the final status doesn't scan them again.
+ */
 abstract class PmMutableStatus implements ItemStatus {
-    private final Collection<Signal> signals = new ConcurrentLinkedQueue<>();
-    private boolean noSignals = true;
-    private boolean isSuccess = true;
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PmMutableStatus, AtomicReferenceArray> STRIPES_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(PmMutableStatus.class, AtomicReferenceArray.class, "stripes");
+    private static final Comparator<Run> BY_SEGMENT = Comparator.comparingInt(r -> r.segment);
+
+    private final long owner = Thread.currentThread().getId();
+    private final Stripe primary = new Stripe();
+    private volatile AtomicReferenceArray<Stripe> stripes;
+    private volatile boolean written;
+    private int epoch;
+    private volatile boolean noSignals = true;
+    private volatile boolean isSuccess = true;
+    private final LongAdder nmErrors = new LongAdder();
+    private final LongAdder nmAlerts = new LongAdder();
+
+    private static int stripes(int cpu) {
+        int n = 1;
+        while (n < 2 * cpu && n < 64) n <<= 1;
+        return n;
+    }
+
+    private @NotNull Stripe stripe(long id) {
+        AtomicReferenceArray<Stripe> cells = stripes;
+        if (cells == null) {
+            STRIPES_UPDATER.compareAndSet(this, null, new AtomicReferenceArray<Stripe>(STRIPES));
+            cells = stripes;
+        }
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        int k = (h ^ (h >>> 16)) & (STRIPES - 1);
+        Stripe cell = cells.get(k);
+        if (cell == null) {
+            cells.compareAndSet(k, null, new Stripe());
+            cell = cells.get(k);
+        }
+        return cell;
+    }
+
+    /*
+     * item is a Signal or a group of signals (PmSignals)
+     */
+    private void append(@NotNull Object item) {
+        long id = Thread.currentThread().getId();
+        if (id == owner) {
+            if (written) mark();
+            primary.add(item);
+        } else {
+            Stripe cell = stripe(id);
+            cell.add(item);
+            if (!cell.written) cell.written = true;
+            if (!written) written = true;
+        }
+    }
+
+    /*
+     * owner thread only: the stripes written so far come before the next signal of the owner
+     */
+    private void mark() {
+        written = false;
+        Mark mark = new Mark(++epoch);
+        AtomicReferenceArray<Stripe> cells = stripes;
+        for (int k = 0; k < cells.length(); k++) {
+            Stripe cell = cells.get(k);
+            if (cell != null && cell.written) {
+                cell.written = false;
+                cell.add(mark);
+            }
+        }
+        primary.add(mark);
+    }
 
     public void add(@NotNull Signal signal) {
-        noSignals = false;
-        if (isSuccess && signal instanceof Failure) isSuccess = false;
-        signals.add(signal);
+        append(signal);
+        if (signal instanceof Warning) {
+            nmAlerts.increment();
+        } else {
+            nmErrors.increment();
+            if (isSuccess) isSuccess = false;
+        }
+        if (noSignals) noSignals = false;
     }
 
     public void add(@NotNull Collection<? extends Signal> signals) {
-        noSignals = false;
-        if (isSuccess) {
+        if (signals.isEmpty())
+            return;
+        long warnings;
+        if (signals instanceof PmSignals) {
+            warnings = ((PmSignals) signals).warnings;
+        } else {
+            warnings = 0;
             for (Signal signal : signals) {
-                if (signal instanceof Failure) {
-                    isSuccess = false;
-                    break;
-                }
+                if (signal instanceof Warning) warnings++;
             }
         }
-        this.signals.addAll(signals);
+        List<Signal> group = Arrays.asList(signals.toArray(new Signal[0]));
+        long errors = group.size() - warnings;
+        append(PmSignals.of(group, errors, warnings));
+        if (warnings > 0) nmAlerts.add(warnings);
+        if (errors > 0) {
+            nmErrors.add(errors);
+            if (isSuccess) isSuccess = false;
+        }
+        if (noSignals) noSignals = false;
     }
 
     public boolean completeSuccess() {
@@ -42,7 +142,89 @@ abstract class PmMutableStatus implements ItemStatus {
         return isSuccess && !noSignals;
     }
 
+    @Override
+    public long errorCount() {
+        return nmErrors.sum();
+    }
+
+    @Override
+    public long warningCount() {
+        return nmAlerts.sum();
+    }
+
     public Collection<Signal> signals() {
-        return Collections.unmodifiableCollection(signals);
+        List<Run> runs = new ArrayList<>();
+        split(primary.toArray(), runs);
+        AtomicReferenceArray<Stripe> cells = stripes;
+        if (cells != null) {
+            for (int k = 0; k < cells.length(); k++) {
+                Stripe cell = cells.get(k);
+                if (cell != null) split(cell.toArray(), runs);
+            }
+            runs.sort(BY_SEGMENT);
+        }
+        List<Signal> merged = new ArrayList<>();
+        long errors = 0;
+        long warnings = 0;
+        for (Run run : runs) {
+            for (int k = run.from; k < run.to; k++) {
+                Object item = run.items[k];
+                if (item instanceof PmSignals) {
+                    PmSignals group = (PmSignals) item;
+                    merged.addAll(group);
+                    errors += group.errors;
+                    warnings += group.warnings;
+                } else {
+                    merged.add((Signal) item);
+                    if (item instanceof Warning) warnings++;
+                    else errors++;
+                }
+            }
+        }
+        return PmSignals.of(merged, errors, warnings);
+    }
+
+    /*
+     * the items before mark n are added before the n-th mark of the owner and after the previous one,
+     * the items after the last mark of a queue after the last mark of the owner
+     */
+    private static void split(Object @NotNull [] items, @NotNull List<Run> runs) {
+        int from = 0;
+        for (int k = 0; k < items.length; k++) {
+            if (items[k] instanceof Mark) {
+                if (k > from) runs.add(new Run(items, from, k, ((Mark) items[k]).epoch - 1));
+                from = k + 1;
+            }
+        }
+        if (items.length > from) runs.add(new Run(items, from, items.length, Integer.MAX_VALUE));
+    }
+
+    private static final class Stripe extends ConcurrentLinkedQueue<Object> {
+        private volatile boolean written;
+    }
+
+    private static final class Mark {
+        private final int epoch;
+
+        private Mark(int epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    /*
+     * items [from, to) of a queue snapshot, added between two marks of the owner
+     */
+    private static final class Run {
+        private final Object[] items;
+        private final int from;
+        private final int to;
+        private final int segment;
+
+        private Run(Object[] items, int from, int to, int segment) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.segment = segment;
+        }
     }
 }
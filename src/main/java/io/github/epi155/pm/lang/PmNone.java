@@ -3,6 +3,7 @@ package io.github.epi155.pm.lang;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -19,6 +20,12 @@ class PmNone extends PmManyError implements None {
     protected PmNone(Collection<? extends Signal> errors) {
         super(errors);
     }
+    protected PmNone(Collection<? extends Signal> errors, List<SignalCount> counts) {
+        super(errors, counts);
+    }
+    protected PmNone(Collection<Signal> signals, Collection<Warning> alerts, long errors) {
+        super(signals, alerts, errors);
+    }
     protected PmNone(PmFinalStatus status) {
         super(status);
     }
@@ -40,10 +47,7 @@ class PmNone extends PmManyError implements None {
             if (that.completeSuccess()) {
                 return this;    // keep this warnings
             } else {
-                @NotNull NoneBuilder bld = None.builder();
-                bld.add(signals());        // this warning
-                bld.add(that.signals());   // that error OR warning
-                return bld.build();
+                return new PmNone(PmSignals.concat(signals(), that.signals()));    // this warning, that error OR warning
             }
         }
     }
@@ -0,0 +1,65 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/*
+ * Common part of the primitive hopes (PmHopeInt, PmHopeLong, PmHopeDouble):
+ * each subclass keeps its value in a primitive field and implements the methods that read it,
+ * passing the outcomes to the helpers here, which don't depend on the type of the value.
+ */
+abstract class PmPrimitiveHope extends PmSingleError {
+    protected PmPrimitiveHope(Failure fault) {
+        super(fault);
+    }
+
+    /*
+     * outcome of a function, or this if it has the error
+     */
+    protected static @NotNull Nope nopeOf(@NotNull SingleError outcome) {
+        return outcome.completeWithoutErrors() ? Nope.nope() : new PmNope(outcome.failure());
+    }
+
+    protected static @NotNull None noneOf(@NotNull ItemStatus outcome) {
+        return outcome.completeSuccess() ? PmNone.none() : new PmNone(outcome.signals());
+    }
+
+    /*
+     * this error as a Hope of any type
+     */
+    protected <R> @NotNull Hope<R> failed() {
+        return new PmHope<>(null, failure());
+    }
+
+    @NoBuiltInCapture
+    public @NotNull Nope asNope() {
+        return nopeOf(this);
+    }
+
+    protected @NotNull Glitch glitch() {
+        return new GlitchImpl();
+    }
+
+    /*
+     * value with its type, e.g. int!42
+     */
+    protected abstract @NotNull String valueText();
+
+    @Override
+    protected void extraToString(Appendable out) throws IOException {
+        if (completeSuccess()) {
+            out.append("finalValue: ").append(valueText()).append(System.lineSeparator());
+        }
+    }
+
+    private class GlitchImpl implements Glitch {
+
+        @Override
+        public void onFailure(@NotNull Consumer<Failure> errorAction) {
+            PmPrimitiveHope.this.onFailure(errorAction);
+        }
+
+    }
+}
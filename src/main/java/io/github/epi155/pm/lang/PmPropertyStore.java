@@ -0,0 +1,145 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/*
+ * Signal properties: most signals have none, a few have one or two.
+ * The shared EMPTY store allocates nothing, small stores keep keys and values in one array,
+ * only above INLINE_MAX entries a hash table is used. Iteration follows the insertion order.
+ */
+abstract class PmPropertyStore {
+    static final PmPropertyStore EMPTY = new Empty();
+    private static final int INLINE_MAX = 8;
+
+    static @NotNull PmPropertyStore of(@NotNull Map<String, Object> properties) {
+        PmPropertyStore store = EMPTY;
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            store = store.with(entry.getKey(), entry.getValue());
+        }
+        return store;
+    }
+
+    abstract Object get(String key);
+
+    /*
+     * may update this store, the caller must keep the returned one
+     */
+    abstract @NotNull PmPropertyStore with(String key, Object value);
+
+    abstract void forEach(BiConsumer<String, ? super Object> action);
+
+    abstract boolean isEmpty();
+
+    private static class Empty extends PmPropertyStore {
+        @Override
+        Object get(String key) {
+            return null;
+        }
+
+        @Override
+        @NotNull PmPropertyStore with(String key, Object value) {
+            return new Inline(key, value);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, ? super Object> action) {
+            // nothing to do
+        }
+
+        @Override
+        boolean isEmpty() {
+            return true;
+        }
+    }
+
+    private static class Inline extends PmPropertyStore {
+        private Object[] keyValues;
+        private int size;
+
+        private Inline(String key, Object value) {
+            this.keyValues = new Object[]{ key, value, null, null };
+            this.size = 1;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(key, keyValues[2 * i]))
+                    return i;
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(String key) {
+            int i = indexOf(key);
+            return i < 0 ? null : keyValues[2 * i + 1];
+        }
+
+        @Override
+        @NotNull PmPropertyStore with(String key, Object value) {
+            int i = indexOf(key);
+            if (i >= 0) {
+                keyValues[2 * i + 1] = value;
+                return this;
+            }
+            if (size == INLINE_MAX)
+                return new Hashed(this).with(key, value);
+            if (2 * size == keyValues.length) {
+                Object[] grown = new Object[Math.min(2 * keyValues.length, 2 * INLINE_MAX)];
+                System.arraycopy(keyValues, 0, grown, 0, keyValues.length);
+                keyValues = grown;
+            }
+            keyValues[2 * size] = key;
+            keyValues[2 * size + 1] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        void forEach(BiConsumer<String, ? super Object> action) {
+            for (int i = 0; i < size; i++) {
+                action.accept((String) keyValues[2 * i], keyValues[2 * i + 1]);
+            }
+        }
+
+        @Override
+        boolean isEmpty() {
+            return false;
+        }
+    }
+
+    private static class Hashed extends PmPropertyStore {
+        private final Map<String, Object> map;
+
+        private Hashed(@NotNull Inline inline) {
+            this.map = new LinkedHashMap<>(4 * INLINE_MAX);
+            inline.forEach(map::put);
+        }
+
+        @Override
+        Object get(String key) {
+            return map.get(key);
+        }
+
+        @Override
+        @NotNull PmPropertyStore with(String key, Object value) {
+            map.put(key, value);
+            return this;
+        }
+
+        @Override
+        void forEach(BiConsumer<String, ? super Object> action) {
+            map.forEach(action);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return false;
+        }
+    }
+}
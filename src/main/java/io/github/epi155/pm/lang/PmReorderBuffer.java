@@ -0,0 +1,94 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/*
+ * Results of an ordered parallel map, passed to the sink in input order.
+ * The feeding thread numbers the items (reserve), the workers complete them in any order;
+ * a result is kept in the ring until all the previous ones have been emitted;
+ * an empty slot is a pending item, so a null result is stored as NULL.
+ * reserve() waits when the item would be more than size positions ahead of the next one to emit,
+ * so the buffer never holds more than size results.
+ * The sink is called under the lock, one result at a time; the first exception it throws
+ * stops the emission (the following results are dropped) and is rethrown by rethrow().
+ */
+final class PmReorderBuffer<R> {
+    private static final Object SKIP = new Object();
+    private static final Object NULL = new Object();
+
+    private final Consumer<? super R> sink;
+    private final Semaphore window;
+    private final Object[] ring;
+    private final Lock lock = new ReentrantLock();
+    private long issued;
+    private long next;
+    private RuntimeException failure;
+
+    PmReorderBuffer(int size, @NotNull Consumer<? super R> sink) {
+        this.sink = sink;
+        this.window = new Semaphore(size);
+        this.ring = new Object[size];
+    }
+
+    /*
+     * feeding thread only: number of the next item, -1 if the thread has been interrupted
+     */
+    long reserve() {
+        try {
+            window.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+        return issued++;
+    }
+
+    void complete(long seq, R value) {
+        put(seq, value == null ? NULL : value);
+    }
+
+    /*
+     * the item has no result (errors, or not processed)
+     */
+    void skip(long seq) {
+        put(seq, SKIP);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void put(long seq, Object value) {
+        lock.lock();
+        try {
+            ring[(int) (seq % ring.length)] = value;
+            Object head;
+            while ((head = ring[(int) (next % ring.length)]) != null) {
+                ring[(int) (next % ring.length)] = null;
+                next++;
+                window.release();
+                if (head != SKIP && failure == null) {
+                    try {
+                        sink.accept(head == NULL ? null : (R) head);
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void rethrow() {
+        lock.lock();
+        try {
+            if (failure != null)
+                throw failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
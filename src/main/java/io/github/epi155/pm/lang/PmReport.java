@@ -0,0 +1,205 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.BiConsumer;
+
+/*
+ * Renderer of ReportFormat and of the toString() methods:
+ * appends piece by piece, without format strings and without building intermediate strings.
+ */
+final class PmReport {
+    private static final String L_SUCCESS = "Success";
+    private static final String L_WARNINGS = "Warnings";
+    private static final String L_ERRORS = "Errors";
+
+    private PmReport() {
+    }
+
+    /*
+     * IOException is not possible on a StringBuilder
+     */
+    static @NotNull String toString(@NotNull ItemStatus status) {
+        StringBuilder sb = new StringBuilder(128);
+        try {
+            text(status, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    static @NotNull String toString(@NotNull Signal signal) {
+        StringBuilder sb = new StringBuilder(128);
+        try {
+            text(signal, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    static void text(@NotNull ItemStatus status, @NotNull Appendable out) throws IOException {
+        if (status instanceof PmSingleError) {
+            PmSingleError single = (PmSingleError) status;
+            out.append("{ finalStatus: ").append(status.completeSuccess() ? L_SUCCESS : L_ERRORS).append(", ");
+            single.extraToString(out);
+            if (status.completeWithErrors()) {
+                out.append("error: ");
+                text(single.failure(), out);
+            }
+            out.append(" }");
+            return;
+        }
+        out.append("{ finalStatus: ").append(labelStatus(status));
+        if (status instanceof PmFinalStatus) {
+            ((PmFinalStatus) status).extraToString(out);
+        }
+        if (status.warningCount() > 0) {
+            out.append(", warnings: [ ");
+            textOf(status, Warning.class, out);
+            out.append(" ]");
+        }
+        if (status.completeWithErrors()) {
+            out.append(", errors: [ ");
+            textOf(status, Failure.class, out);
+            out.append(" ]");
+        }
+        out.append(" }");
+    }
+
+    private static void textOf(@NotNull ItemStatus status, @NotNull Class<? extends Signal> type, @NotNull Appendable out) throws IOException {
+        boolean append = false;
+        for (Signal signal : status.signals()) {
+            if (type.isInstance(signal)) {
+                if (append) out.append(", ");
+                text(signal, out);
+                append = true;
+            }
+        }
+    }
+
+    private static @NotNull String labelStatus(@NotNull ItemStatus status) {
+        if (status.completeSuccess())
+            return L_SUCCESS;
+        if (status.completeWithErrors())
+            return L_ERRORS;
+        return L_WARNINGS;
+    }
+
+    static void text(@NotNull Signal signal, @NotNull Appendable out) throws IOException {
+        out.append("{ code: \"").append(signal.code())
+            .append("\", status: ").append(Integer.toString(signal.status()))
+            .append(", message: \"").append(signal.message()).append('"');
+        String place = signal.place();
+        if (place != null) {
+            out.append(", place: \"").append(place).append('"');
+        }
+        Properties properties = new Properties(out, false);
+        signal.forEach(properties);
+        properties.close();
+        out.append(" }");    // end object
+    }
+
+    static void jsonLines(@NotNull ItemStatus status, @NotNull Appendable out) throws IOException {
+        for (Signal signal : status.signals()) {
+            json(signal, out);
+            out.append('\n');
+        }
+    }
+
+    static void json(@NotNull Signal signal, @NotNull Appendable out) throws IOException {
+        out.append("{\"type\":\"").append(signal instanceof Warning ? "warning" : "error")
+            .append("\",\"code\":");
+        quote(signal.code(), out);
+        out.append(",\"status\":").append(Integer.toString(signal.status()))
+            .append(",\"message\":");
+        quote(signal.message(), out);
+        String place = signal.place();
+        if (place != null) {
+            out.append(",\"place\":");
+            quote(place, out);
+        }
+        Properties properties = new Properties(out, true);
+        signal.forEach(properties);
+        properties.close();
+        out.append('}');
+    }
+
+    private static void quote(@NotNull String text, @NotNull Appendable out) throws IOException {
+        out.append('"');
+        int start = 0;
+        int len = text.length();
+        for (int i = 0; i < len; i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                out.append(text, start, i);
+                switch (c) {
+                    case '"': out.append("\\\""); break;
+                    case '\\': out.append("\\\\"); break;
+                    case '\n': out.append("\\n"); break;
+                    case '\r': out.append("\\r"); break;
+                    case '\t': out.append("\\t"); break;
+                    default:
+                        out.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                }
+                start = i + 1;
+            }
+        }
+        out.append(text, start, len).append('"');
+    }
+
+    /*
+     * property writer; Signal.forEach takes a BiConsumer, so the IOException is kept and rethrown by close()
+     */
+    private static final class Properties implements BiConsumer<String, Object> {
+        private final Appendable out;
+        private final boolean json;
+        private boolean append;
+        private IOException failure;
+
+        private Properties(Appendable out, boolean json) {
+            this.out = out;
+            this.json = json;
+        }
+
+        @Override
+        public void accept(String key, Object value) {
+            if (failure != null)
+                return;
+            try {
+                if (json) {
+                    out.append(append ? "," : ",\"properties\":{");
+                    quote(String.valueOf(key), out);
+                    out.append(':');
+                    if (value == null || value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+                        out.append(String.valueOf(value));
+                    } else if (value instanceof Number && Double.isFinite(((Number) value).doubleValue())) {
+                        out.append(value.toString());
+                    } else {
+                        quote(value.toString(), out);
+                    }
+                } else {
+                    out.append(append ? ", " : ", properties: { ").append(key).append(": ");
+                    if (value instanceof String) {
+                        out.append('"').append((String) value).append('"');
+                    } else {
+                        out.append(String.valueOf(value));
+                    }
+                }
+                append = true;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private void close() throws IOException {
+            if (failure != null)
+                throw failure;
+            if (append)
+                out.append(json ? "}" : " }");    // end property
+        }
+    }
+}
@@ -2,32 +2,51 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BiConsumer;
 
-import static java.util.Optional.ofNullable;
-
 abstract class PmSignal implements Signal {
     @NotNull
     protected final String theCode;
     protected final int theStatus;
-    @NotNull
-    protected final String theMessage;
-    protected final Map<String, Object> properties;
+    private PmPropertyStore properties;
+    private final CustMsg ce;
+    /*
+     * formatted message (String), or the arguments still to be formatted with ce (Object[]);
+     * formatting is deferred to the first read, concurrent readers may at most format twice
+     */
+    private volatile Object theMessage;
 
     protected PmSignal(@NotNull String theCode, int theStatus, @NotNull String theMessage) {
-        this(new HashMap<>(), theCode, theStatus, theMessage);
+        this.theCode = theCode;
+        this.theStatus = theStatus;
+        this.ce = null;
+        this.theMessage = theMessage;
+        this.properties = PmPropertyStore.EMPTY;
     }
 
     protected PmSignal(@NotNull Map<String, Object> properties, @NotNull String theCode, int theStatus, @NotNull String theMessage) {
         this.theCode = theCode;
         this.theStatus = theStatus;
+        this.ce = null;
         this.theMessage = theMessage;
-        this.properties = properties;
+        this.properties = PmPropertyStore.of(properties);
+    }
+
+    protected PmSignal(@NotNull CustMsg ce, Object[] argv) {
+        this.theCode = ce.code();
+        this.theStatus = ce.statusCode();
+        this.ce = ce;
+        this.theMessage = argv;
+        this.properties = PmPropertyStore.EMPTY;
+    }
+
+    protected PmSignal(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object[] argv) {
+        this.theCode = ce.code();
+        this.theStatus = ce.statusCode();
+        this.ce = ce;
+        this.theMessage = argv;
+        this.properties = PmPropertyStore.of(properties);
     }
 
     protected static @NotNull String lineOf(@NotNull StackTraceElement stackElem) {
@@ -64,31 +83,7 @@ abstract class PmSignal implements Signal {
 
     @Override
     public String toString() {
-        StringWriter sw = new StringWriter();
-        try (PrintWriter pw = new PrintWriter(sw)) {
-            pw.printf("{ code: \"%s\", ", theCode);
-            pw.printf("status: %d, ", theStatus);
-            pw.printf("message: \"%s\"", theMessage);
-            ofNullable(place()).ifPresent(place -> pw.printf(", place: \"%s\"", place));
-            if (!properties.isEmpty()) {
-                pw.printf(", properties: { ");
-                Set<Map.Entry<String, Object>> entries = properties.entrySet();
-                boolean append = false;
-                for (Map.Entry<String, Object> entry : entries) {
-                    if (append) pw.printf(", ");
-                    Object value = entry.getValue();
-                    if (value instanceof String) {
-                        pw.printf("%s: \"%s\"", entry.getKey(), value);
-                    } else {
-                        pw.printf("%s: %s", entry.getKey(), value.toString());
-                    }
-                    append = true;
-                }
-                pw.printf(" }");    // end property
-            }
-            pw.printf(" }");    // end object
-        }
-        return sw.toString();
+        return PmReport.toString(this);
     }
 
     @SuppressWarnings("unchecked")
@@ -106,7 +101,7 @@ abstract class PmSignal implements Signal {
 
     @Override
     public <T> @NotNull Signal setProperty(String key, T value) {
-        properties.put(key, value);
+        properties = properties.with(key, value);
         return this;
     }
 
@@ -131,7 +126,15 @@ abstract class PmSignal implements Signal {
 
     @Override
     public @NotNull String message() {
-        return theMessage;
+        Object text = theMessage;
+        if (text instanceof String) {
+            return (String) text;
+        }
+        String message = ce.message((Object[]) text);
+        if (message != null) {
+            theMessage = message;   // release the arguments
+        }
+        return message;
     }
 
 }
@@ -0,0 +1,102 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+
+/*
+ * Accumulator of the ordered collector: a list of segments, one for each split of the stream.
+ * Each split appends to its own last segment; combining two splits links the segments, in O(1).
+ * Confined to one thread at a time, as required by a non-concurrent collector.
+ */
+final class PmSignalChain {
+    private Segment head;
+    private Segment tail;
+    private long errors;
+    private long warnings;
+
+    static @NotNull Collector<ItemStatus, PmSignalChain, None> collector() {
+        return Collector.of(PmSignalChain::new, PmSignalChain::add, PmSignalChain::link, PmSignalChain::build);
+    }
+
+    private void add(@NotNull ItemStatus status) {
+        if (status.completeSuccess())
+            return;
+        if (tail == null) {
+            head = tail = new Segment();
+        }
+        tail.signals.addAll(status.signals());
+        errors += status.errorCount();
+        warnings += status.warningCount();
+    }
+
+    private @NotNull PmSignalChain link(@NotNull PmSignalChain that) {
+        if (that.head == null)
+            return this;
+        if (head == null)
+            return that;
+        tail.next = that.head;
+        tail = that.tail;
+        errors += that.errors;
+        warnings += that.warnings;
+        return this;
+    }
+
+    @NoBuiltInCapture
+    private @NotNull None build() {
+        if (head == null)
+            return PmNone.none();
+        return new PmNone(PmSignals.of(new View(head, errors + warnings), errors, warnings));
+    }
+
+    private static final class Segment {
+        private final List<Signal> signals = new ArrayList<>();
+        private Segment next;
+    }
+
+    private static final class View extends AbstractCollection<Signal> {
+        private final Segment head;
+        private final int size;
+
+        private View(Segment head, long size) {
+            this.head = head;
+            this.size = (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public @NotNull Iterator<Signal> iterator() {
+            return new Iterator<Signal>() {
+                private Segment segment = head;
+                private Iterator<Signal> current = head.signals.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext()) {
+                        if (segment.next == null)
+                            return false;
+                        segment = segment.next;
+                        current = segment.signals.iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public Signal next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
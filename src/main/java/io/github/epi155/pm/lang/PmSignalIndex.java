@@ -0,0 +1,88 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Index of the signals of a final status, built with a single pass:
+ * signals by code (codes in order of first occurrence), errors,
+ * and signals sorted by status (stable, so the order of occurrence is kept within a status),
+ * with the statuses in a parallel array for the binary search of a range.
+ */
+final class PmSignalIndex {
+    private final Map<String, List<Signal>> byCode;
+    private final List<Failure> failures;
+    private final Signal[] byStatus;
+    private final int[] statuses;
+
+    private PmSignalIndex(Map<String, List<Signal>> byCode, List<Failure> failures, Signal[] byStatus) {
+        this.byCode = byCode;
+        this.failures = failures;
+        this.byStatus = byStatus;
+        this.statuses = new int[byStatus.length];
+        for (int k = 0; k < byStatus.length; k++) {
+            statuses[k] = byStatus[k].status();
+        }
+    }
+
+    static @NotNull PmSignalIndex of(@NotNull Collection<? extends Signal> signals, long errors) {
+        Map<String, List<Signal>> byCode = new LinkedHashMap<>();
+        List<Failure> failures = new ArrayList<>((int) Math.min(errors, Integer.MAX_VALUE));
+        Signal[] byStatus = new Signal[signals.size()];
+        int n = 0;
+        for (Signal signal : signals) {
+            byCode.computeIfAbsent(signal.code(), k -> new ArrayList<>()).add(signal);
+            if (signal instanceof Failure) failures.add((Failure) signal);
+            byStatus[n++] = signal;
+        }
+        if (n < byStatus.length)
+            byStatus = Arrays.copyOf(byStatus, n);
+        Arrays.sort(byStatus, Comparator.comparingInt(Signal::status));
+        byCode.replaceAll((code, list) -> Collections.unmodifiableList(list));
+        return new PmSignalIndex(byCode, Collections.unmodifiableList(failures), byStatus);
+    }
+
+    @NotNull List<Signal> byCode(@NotNull String code) {
+        List<Signal> list = byCode.get(code);
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    /*
+     * signals with status in [from, to)
+     */
+    @NotNull List<Signal> byStatus(int from, int to) {
+        if (from >= to)
+            return Collections.emptyList();
+        int lo = lowerBound(from);
+        int hi = lowerBound(to);
+        return Collections.unmodifiableList(Arrays.asList(byStatus).subList(lo, hi));
+    }
+
+    private int lowerBound(int status) {
+        int lo = 0;
+        int hi = statuses.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (statuses[mid] < status) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    @NotNull List<Failure> failures() {
+        return failures;
+    }
+
+    @NotNull Set<String> codes() {
+        return Collections.unmodifiableSet(byCode.keySet());
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Read-only signal collection that knows how many of its signals are errors and warnings.
+ * Passing the signals of a status to a new PmFinalStatus carries the counters along, without a scan.
+ * Compositions concatenate two collections by linking them (Concat), so a chain of n steps
+ * shares the signals of the previous steps instead of copying them again at each step.
+ */
+final class PmSignals extends AbstractCollection<Signal> {
+    private final Collection<Signal> signals;
+    final long errors;
+    final long warnings;
+
+    private PmSignals(@NotNull Collection<Signal> signals, long errors, long warnings) {
+        this.signals = signals;
+        this.errors = errors;
+        this.warnings = warnings;
+    }
+
+    @SuppressWarnings("unchecked")
+    static @NotNull PmSignals of(@NotNull Collection<? extends Signal> signals, long errors, long warnings) {
+        return new PmSignals(Collections.unmodifiableCollection((Collection<Signal>) signals), errors, warnings);
+    }
+
+    /*
+     * signals of a followed by signals of b, in O(1)
+     */
+    static @NotNull Collection<Signal> concat(@NotNull Collection<? extends Signal> a, @NotNull Collection<? extends Signal> b) {
+        PmSignals left = of(a);
+        PmSignals right = of(b);
+        if (right.errors + right.warnings == 0 && right.isEmpty())
+            return left;
+        if (left.errors + left.warnings == 0 && left.isEmpty())
+            return right;
+        long errors = left.errors + right.errors;
+        long warnings = left.warnings + right.warnings;
+        return new PmSignals(new Concat(left.signals, right.signals, errors + warnings), errors, warnings);
+    }
+
+    static @NotNull PmSignals of(@NotNull Collection<? extends Signal> signals) {
+        if (signals instanceof PmSignals)
+            return (PmSignals) signals;
+        long warnings = 0;
+        for (Signal signal : signals) {
+            if (signal instanceof Warning) warnings++;
+        }
+        return of(signals, signals.size() - warnings, warnings);
+    }
+
+    @Override
+    public @NotNull Iterator<Signal> iterator() {
+        return signals.iterator();
+    }
+
+    @Override
+    public int size() {
+        return signals.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return errors + warnings == 0 && signals.isEmpty();
+    }
+
+    /*
+     * immutable concatenation node; iterated with an explicit stack,
+     * so a long (left-deep) chain of compositions doesn't recurse
+     */
+    private static final class Concat extends AbstractCollection<Signal> {
+        private final Collection<Signal> left;
+        private final Collection<Signal> right;
+        private final int size;
+
+        private Concat(@NotNull Collection<Signal> left, @NotNull Collection<Signal> right, long size) {
+            this.left = left;
+            this.right = right;
+            this.size = (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public @NotNull Iterator<Signal> iterator() {
+            return new Iterator<Signal>() {
+                private final Deque<Collection<Signal>> pending = new ArrayDeque<>();
+                private Iterator<Signal> current = Collections.emptyIterator();
+
+                {
+                    pending.push(Concat.this);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext()) {
+                        Collection<Signal> next = pending.poll();
+                        if (next == null)
+                            return false;
+                        while (next instanceof Concat) {
+                            Concat node = (Concat) next;
+                            pending.push(node.right);
+                            next = node.left;
+                        }
+                        current = next.iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public Signal next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
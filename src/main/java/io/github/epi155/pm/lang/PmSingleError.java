@@ -2,16 +2,13 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 
 abstract class PmSingleError implements SingleError {
-    private static final String L_SUCCESS = "Success";
-    private static final String L_ERRORS = "Errors";
     private final Failure fault;
 
     protected PmSingleError(Failure fault) {
@@ -33,6 +30,16 @@ abstract class PmSingleError implements SingleError {
         return completeSuccess();
     }
 
+    @Override
+    public long errorCount() {
+        return fault == null ? 0 : 1;
+    }
+
+    @Override
+    public long warningCount() {
+        return 0;
+    }
+
     @Override
     public Collection<Signal> signals() {
         return completeSuccess() ? Collections.emptyList() : Collections.singletonList(fault);
@@ -53,20 +60,13 @@ abstract class PmSingleError implements SingleError {
     }
 
     public String toString() {
-        String status = fault == null ? L_SUCCESS : L_ERRORS;
-        StringWriter sw = new StringWriter();
-        try (PrintWriter pw = new PrintWriter(sw)) {
-            pw.printf("{ finalStatus: %s, ", status);
-            extraToString(pw);
-            if (fault != null) {
-                pw.printf("error: %s", fault);
-            }
-            pw.print(" }");
-        }
-        return sw.toString();
+        return PmReport.toString(this);
     }
 
-    protected void extraToString(PrintWriter pw) {
+    /*
+     * appended after the status label
+     */
+    protected void extraToString(Appendable out) throws IOException {
     }
 
 }
@@ -2,7 +2,7 @@ package io.github.epi155.pm.lang;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.io.PrintWriter;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.function.BiConsumer;
@@ -125,10 +125,7 @@ class PmSome<T> extends PmManyError implements Some<T> {
             if (that.completeSuccess()) {
                 return new PmNone(signals());     // this warning
             } else {
-                @NotNull NoneBuilder bld = None.builder();
-                bld.add(signals());        // this warning
-                bld.add(that.signals());   // that error OR warning
-                return bld.build();
+                return new PmNone(PmSignals.concat(signals(), that.signals()));    // this warning, that error OR warning
             }
         }
     }
@@ -161,9 +158,9 @@ class PmSome<T> extends PmManyError implements Some<T> {
         return completeWithErrors() ? onFailure.apply(signals()) : onSuccess.apply(value);
     }
     @Override
-    protected void extraToString(PrintWriter pw) {
+    protected void extraToString(Appendable out) throws IOException {
         if (value != null) {
-            pw.printf(", finalValue: %s!%s", value.getClass().getName(), value);
+            out.append(", finalValue: ").append(value.getClass().getName()).append('!').append(String.valueOf(value));
         }
     }
 
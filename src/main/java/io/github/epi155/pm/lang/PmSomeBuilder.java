@@ -8,17 +8,16 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 class PmSomeBuilder<T> extends PmAnyBuilder implements SomeBuilder<T> {
     private T value;
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private StackTraceElement setter;
+    private PmCallSite setter;
     private boolean multipleSet = false;
 
     @Override
     public void value(@NotNull T value) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         valueAt(caller, value);
     }
 
-    private void valueAt(StackTraceElement caller, T value) {
+    private void valueAt(PmCallSite caller, T value) {
         if (completeWithErrors()) {
             @NotNull Warning warn = PmWarning.of(caller, EnumMessage.ERR_BLD);
             add(warn);
@@ -33,7 +32,7 @@ class PmSomeBuilder<T> extends PmAnyBuilder implements SomeBuilder<T> {
             try {
                 lock.writeLock().lock();
                 if (this.value != null) {
-                    @NotNull Failure fail = PmFailure.of(caller, EnumMessage.DBL_SET, PmSignal.lineOf(setter));
+                    @NotNull Failure fail = PmFailure.of(caller, EnumMessage.DBL_SET, setter.place());
                     add(fail);
                     multipleSet = true;
                 } else {
@@ -48,16 +47,15 @@ class PmSomeBuilder<T> extends PmAnyBuilder implements SomeBuilder<T> {
 
     @NoBuiltInCapture
     public @NotNull Some<T> build() {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         return buildAt(caller);
     }
 
     @NoBuiltInCapture
-    private Some<T> buildAt(StackTraceElement caller) {
+    private Some<T> buildAt(PmCallSite caller) {
         if (completeWithErrors()) {
             if (value != null && !multipleSet) {
-                @NotNull Warning warn = PmWarning.of(caller, EnumMessage.OVR_BLD, PmSignal.lineOf(setter));
+                @NotNull Warning warn = PmWarning.of(caller, EnumMessage.OVR_BLD, setter.place());
                 add(warn);
             }
             return new PmSome<>(signals());
@@ -73,8 +71,7 @@ class PmSomeBuilder<T> extends PmAnyBuilder implements SomeBuilder<T> {
     @Override
     @NoBuiltInCapture
     public @NotNull Some<T> buildWithValue(@NotNull T value) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         valueAt(caller, value);
         return build();
     }
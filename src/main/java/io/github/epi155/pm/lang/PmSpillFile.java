@@ -0,0 +1,349 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Temporary file of serialized signals, written sequentially through a buffer
+ * and read back one memory-mapped segment at a time.
+ * Segments end on a record boundary, so a record never spans two mappings.
+ *
+ * record: kind(byte F/W) status(int) code(str) message(str) place(str) n(int) n*(key(str) tag(byte) value)
+ * str: length(int, -1 for null) + UTF-8 bytes
+ *
+ * Property values are kept as String, Integer, Long, Double, Boolean or null;
+ * other types are stored with their toString().
+ *
+ * The file is deleted by close(), or when every owner (builder, None) has been garbage collected:
+ * owners are tracked by phantom references, which a daemon thread takes from the queue as soon as
+ * they are enqueued (the Java 8 baseline has no Cleaner); deleteOnExit covers what is still around at shutdown.
+ */
+final class PmSpillFile {
+    private static final long SEGMENT_SIZE = 64L << 20;
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<>();
+    private static final Set<Owner> OWNERS = ConcurrentHashMap.newKeySet();
+
+    static {
+        Thread cleaner = new Thread(PmSpillFile::clean, "pm-spill-cleaner");
+        cleaner.setDaemon(true);
+        cleaner.start();
+    }
+
+    private static final byte T_NULL = 0;
+    private static final byte T_STRING = 1;
+    private static final byte T_INT = 2;
+    private static final byte T_LONG = 3;
+    private static final byte T_DOUBLE = 4;
+    private static final byte T_BOOLEAN = 5;
+
+    private final Path path;
+    private final AtomicInteger owners = new AtomicInteger();
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream encoder = new DataOutputStream(record);
+    private DataOutputStream out;
+    private long length;
+    /*
+     * end offsets of the closed segments; the last segment ends at length
+     */
+    private long[] segmentEnds = new long[8];
+    private int segments;
+    private long segmentStart;
+    private boolean closed;
+
+    private PmSpillFile(@NotNull Path path) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+
+    static @NotNull PmSpillFile create() {
+        try {
+            Path path = Files.createTempFile("pm-signals-", ".bin");
+            path.toFile().deleteOnExit();
+            return new PmSpillFile(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void clean() {
+        for (;;) {
+            try {
+                Owner owner = (Owner) COLLECTED.remove();
+                OWNERS.remove(owner);
+                owner.file.release();
+            } catch (InterruptedException e) {
+                // nobody else knows this thread: it goes on
+            }
+        }
+    }
+
+    /*
+     * the file is deleted when every attached object has been collected
+     */
+    void attach(@NotNull Object owner) {
+        owners.incrementAndGet();
+        OWNERS.add(new Owner(owner, this));
+    }
+
+    private void release() {
+        if (owners.decrementAndGet() == 0)
+            close();
+    }
+
+    synchronized void append(@NotNull Signal signal) {
+        if (closed)
+            throw new IllegalStateException("spill file closed");
+        try {
+            record.reset();
+            encode(signal);
+            if (length - segmentStart + record.size() > SEGMENT_SIZE && length > segmentStart) {
+                if (segments == segmentEnds.length)
+                    segmentEnds = Arrays.copyOf(segmentEnds, 2 * segments);
+                segmentEnds[segments++] = length;
+                segmentStart = length;
+            }
+            record.writeTo(out);
+            length += record.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void encode(@NotNull Signal signal) throws IOException {
+        encoder.writeByte(signal instanceof Failure ? 'F' : 'W');
+        encoder.writeInt(signal.status());
+        writeString(signal.code());
+        writeString(signal.message());
+        writeString(signal.place());
+        List<Object> properties = new ArrayList<>();
+        signal.forEach((key, value) -> {
+            properties.add(key);
+            properties.add(value);
+        });
+        encoder.writeInt(properties.size() / 2);
+        for (int k = 0; k < properties.size(); k += 2) {
+            writeString((String) properties.get(k));
+            writeValue(properties.get(k + 1));
+        }
+    }
+
+    private void writeString(@Nullable String text) throws IOException {
+        if (text == null) {
+            encoder.writeInt(-1);
+        } else {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            encoder.writeInt(bytes.length);
+            encoder.write(bytes);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            encoder.writeByte(T_NULL);
+        } else if (value instanceof Integer) {
+            encoder.writeByte(T_INT);
+            encoder.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            encoder.writeByte(T_LONG);
+            encoder.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            encoder.writeByte(T_DOUBLE);
+            encoder.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            encoder.writeByte(T_BOOLEAN);
+            encoder.writeBoolean((Boolean) value);
+        } else {
+            encoder.writeByte(T_STRING);
+            writeString(value.toString());
+        }
+    }
+
+    /*
+     * iterator over the first n records
+     */
+    @NotNull Iterator<Signal> iterator(long n) {
+        long[] ends;
+        synchronized (this) {
+            if (closed)
+                throw new IllegalStateException("spill file closed");
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            ends = Arrays.copyOf(segmentEnds, segments + 1);
+            ends[segments] = length;
+        }
+        return new Reader(ends, n);
+    }
+
+    synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // the file is deleted anyway
+        }
+        out = null;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // still mapped (Windows), removed at exit
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @NotNull Path path() {
+        return path;
+    }
+
+    private class Reader implements Iterator<Signal> {
+        private final long[] ends;
+        private long remaining;
+        private int segment;
+        private MappedByteBuffer buffer;
+
+        private Reader(long[] ends, long n) {
+            this.ends = ends;
+            this.remaining = n;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Signal next() {
+            if (remaining <= 0)
+                throw new NoSuchElementException();
+            while (buffer == null || !buffer.hasRemaining()) {
+                buffer = map(segment++);
+            }
+            remaining--;
+            return decode(buffer);
+        }
+
+        private @NotNull MappedByteBuffer map(int k) {
+            if (k >= ends.length)
+                throw new NoSuchElementException();
+            long start = k == 0 ? 0 : ends[k - 1];
+            if (isClosed())
+                throw new IllegalStateException("spill file closed");
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, start, ends[k] - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static @NotNull Signal decode(@NotNull MappedByteBuffer in) {
+        boolean failure = in.get() == 'F';
+        int status = in.getInt();
+        String code = readString(in);
+        String message = readString(in);
+        String place = readString(in);
+        int n = in.getInt();
+        Map<String, Object> properties = n == 0 ? Collections.emptyMap() : new LinkedHashMap<>(2 * n);
+        for (int k = 0; k < n; k++) {
+            properties.put(readString(in), readValue(in));
+        }
+        return failure
+            ? new StoredFailure(properties, code, status, message, place)
+            : new StoredWarning(properties, code, status, message, place);
+    }
+
+    private static String readString(@NotNull MappedByteBuffer in) {
+        int len = in.getInt();
+        if (len < 0)
+            return null;
+        byte[] bytes = new byte[len];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Object readValue(@NotNull MappedByteBuffer in) {
+        switch (in.get()) {
+            case T_STRING:
+                return readString(in);
+            case T_INT:
+                return in.getInt();
+            case T_LONG:
+                return in.getLong();
+            case T_DOUBLE:
+                return in.getDouble();
+            case T_BOOLEAN:
+                return in.get() != 0;
+            default:
+                return null;
+        }
+    }
+
+    private static final class Owner extends PhantomReference<Object> {
+        private final PmSpillFile file;
+
+        private Owner(@NotNull Object referent, @NotNull PmSpillFile file) {
+            super(referent, COLLECTED);
+            this.file = file;
+        }
+    }
+
+    private static final class StoredFailure extends PmSignal implements Failure {
+        private final String place;
+
+        private StoredFailure(@NotNull Map<String, Object> properties, @NotNull String code, int status, @NotNull String message, String place) {
+            super(properties, code, status, message);
+            this.place = place;
+        }
+
+        @Override
+        public @Nullable String place() {
+            return place;
+        }
+    }
+
+    private static final class StoredWarning extends PmSignal implements Warning {
+        private final String place;
+
+        private StoredWarning(@NotNull Map<String, Object> properties, @NotNull String code, int status, @NotNull String message, String place) {
+            super(properties, code, status, message);
+            this.place = place;
+        }
+
+        @Override
+        public @Nullable String place() {
+            return place;
+        }
+    }
+}
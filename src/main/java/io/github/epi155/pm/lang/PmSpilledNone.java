@@ -0,0 +1,69 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * None over the lazy views of a PmSpillingNoneBuilder;
+ * queries scan the file instead of indexing it, so only the matching signals are loaded
+ */
+class PmSpilledNone extends PmNone implements CloseableNone {
+    private final PmSpillFile file;
+
+    PmSpilledNone(Collection<Signal> signals, Collection<Warning> alerts, long errors, PmSpillFile file) {
+        super(signals, alerts, errors);
+        this.file = file;
+    }
+
+    @Override
+    public @NotNull List<Signal> signalsByCode(@NotNull String code) {
+        List<Signal> list = new ArrayList<>();
+        for (Signal signal : signals()) {
+            if (code.equals(signal.code())) list.add(signal);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public @NotNull List<Signal> signalsByStatus(int from, int to) {
+        List<Signal> list = new ArrayList<>();
+        if (from < to) {
+            for (Signal signal : signals()) {
+                if (from <= signal.status() && signal.status() < to) list.add(signal);
+            }
+            list.sort(Comparator.comparingInt(Signal::status));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public @NotNull List<Failure> failures() {
+        List<Failure> list = new ArrayList<>();
+        for (Signal signal : signals()) {
+            if (signal instanceof Failure) list.add((Failure) signal);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    @Override
+    public @NotNull Set<String> codes() {
+        Set<String> set = new LinkedHashSet<>();
+        for (Signal signal : signals()) {
+            set.add(signal.code());
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    @Override
+    public void close() {
+        if (file != null)
+            file.close();
+    }
+}
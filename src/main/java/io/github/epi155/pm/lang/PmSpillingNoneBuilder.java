@@ -0,0 +1,163 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/*
+ * NoneBuilder that keeps the first threshold signals in memory and appends the others to a PmSpillFile.
+ * Writes are serialized on the builder: this builder is meant for huge results, not for contention.
+ * signals() is a view of the first size() signals at the time it is taken, read back lazily;
+ * a view keeps the builder, an owner of the file, reachable: the file outlives neither its None nor its views.
+ */
+class PmSpillingNoneBuilder extends PmNoneBuilder implements SpillingNoneBuilder {
+    private final int threshold;
+    private final List<Signal> head;
+    private PmSpillFile file;
+    private long size;
+    private long warnings;
+
+    PmSpillingNoneBuilder(int threshold) {
+        if (threshold < 0)
+            throw new IllegalArgumentException();
+        this.threshold = threshold;
+        this.head = new ArrayList<>(Math.min(threshold, 1024));
+    }
+
+    @Override
+    public synchronized void add(@NotNull Signal signal) {
+        if (size < threshold) {
+            head.add(signal);
+        } else {
+            if (file == null) {
+                file = PmSpillFile.create();
+                file.attach(this);
+            }
+            file.append(signal);
+        }
+        size++;
+        if (signal instanceof Warning) warnings++;
+    }
+
+    @Override
+    public synchronized void add(@NotNull Collection<? extends Signal> signals) {
+        for (Signal signal : signals) {
+            add(signal);
+        }
+    }
+
+    @Override
+    public synchronized boolean completeSuccess() {
+        return size == 0;
+    }
+
+    @Override
+    public synchronized boolean completeWithErrors() {
+        return warnings < size;
+    }
+
+    @Override
+    public synchronized boolean completeWarning() {
+        return size > 0 && warnings == size;
+    }
+
+    @Override
+    public synchronized long errorCount() {
+        return size - warnings;
+    }
+
+    @Override
+    public synchronized long warningCount() {
+        return warnings;
+    }
+
+    @Override
+    public synchronized Collection<Signal> signals() {
+        return new View<>(this, Signal.class, memory(), file, size, size);
+    }
+
+    synchronized @NotNull Collection<Warning> alerts() {
+        return new View<>(this, Warning.class, memory(), file, size, warnings);
+    }
+
+    /*
+     * the head no longer changes once it is full
+     */
+    private @NotNull List<Signal> memory() {
+        return size < threshold ? new ArrayList<>(head) : head;
+    }
+
+    @Override
+    @NoBuiltInCapture
+    public synchronized @NotNull CloseableNone build() {
+        PmSpilledNone none = new PmSpilledNone(signals(), alerts(), size - warnings, file);
+        if (file != null)
+            file.attach(none);
+        return none;
+    }
+
+    /*
+     * the first n signals of the builder (memory, then file), restricted to the given type
+     */
+    private static class View<S extends Signal> extends AbstractCollection<S> {
+        @SuppressWarnings({"unused", "FieldCanBeLocal"})
+        private final PmSpillingNoneBuilder owner;     // keeps the file
+        private final Class<S> type;
+        private final List<Signal> head;
+        private final PmSpillFile file;
+        private final long total;
+        private final int size;
+
+        private View(PmSpillingNoneBuilder owner, Class<S> type, List<Signal> head, PmSpillFile file, long total, long size) {
+            this.owner = owner;
+            this.type = type;
+            this.head = head;
+            this.file = file;
+            this.total = total;
+            this.size = (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public @NotNull Iterator<S> iterator() {
+            Iterator<Signal> memory = head.iterator();
+            Iterator<Signal> disk = file == null || total == head.size()
+                ? Collections.emptyIterator()
+                : file.iterator(total - head.size());
+            return new Iterator<S>() {
+                private S next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null) {
+                        Signal signal;
+                        if (memory.hasNext()) signal = memory.next();
+                        else if (disk.hasNext()) signal = disk.next();
+                        else return false;
+                        if (type.isInstance(signal)) next = type.cast(signal);
+                    }
+                    return true;
+                }
+
+                @Override
+                public S next() {
+                    if (!hasNext())
+                        throw new NoSuchElementException();
+                    S signal = next;
+                    next = null;
+                    return signal;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Call site locator.
+ * <p>
+ * Java 8 baseline: the stack is materialized by {@link Throwable#getStackTrace()}.
+ * On Java 9+ this class is replaced (multi-release jar) by a version based on {@code java.lang.StackWalker},
+ * which walks only the frames it needs.
+ * </p>
+ */
+class PmStackWalker {
+    private PmStackWalker() {}
+
+    /**
+     * Locate a frame above the method calling this one.
+     * <p>
+     * {@code depth} 0 is the method calling {@code frame}, 1 is its caller, and so on.
+     * </p>
+     *
+     * @param depth number of frames to skip above the invoking method
+     * @return call site
+     */
+    static @NotNull PmCallSite frame(int depth) {
+        StackTraceElement[] stPtr = new Throwable().getStackTrace();
+        int index = Math.min(depth + 1, stPtr.length - 1);
+        return new ElementSite(stPtr[index]);
+    }
+
+    private static class ElementSite extends PmCallSite {
+        private final StackTraceElement element;
+
+        private ElementSite(StackTraceElement element) {
+            this.element = element;
+        }
+
+        @Override
+        protected String className() {
+            return element.getClassName();
+        }
+
+        @Override
+        protected String methodName() {
+            return element.getMethodName();
+        }
+
+        @Override
+        protected String fileName() {
+            return element.getFileName();
+        }
+
+        @Override
+        protected int lineNumber() {
+            return element.getLineNumber();
+        }
+    }
+}
@@ -3,40 +3,79 @@ package io.github.epi155.pm.lang;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 class PmTrouble extends PmSignal implements Failure {
     private static final int JAVA_EXCEPTION_STATUS = 500;
     private static final String JAVA_EXCEPTION_CODE = "999J";
 
+    /*
+     * frames from the throw point to the capturing method (or to the depth limit),
+     * the capturing method alone when the throwable has no stack trace;
+     * the place is rendered on the first read, concurrent readers may at most render twice
+     */
+    private final StackTraceElement[] frames;
+    private final boolean truncated;
+    private final PmCallSite caller;
+    private String place;
 
-    private final String place;
+    protected PmTrouble(String code, int status, String text, StackTraceElement[] frames, boolean truncated) {
+        super(code, status, text);
+        this.frames = frames;
+        this.truncated = truncated;
+        this.caller = null;
+    }
 
-    protected PmTrouble(String code, int status, String text, List<String> places) {
+    protected PmTrouble(String code, int status, String text, @NotNull PmCallSite caller) {
         super(code, status, text);
-        this.place = "[ " + String.join(", ", places) + " ]";
+        this.frames = new StackTraceElement[0];
+        this.truncated = false;
+        this.caller = caller;
     }
 
 
-    static Failure of(@NotNull Throwable t, StackTraceElement caller) {
+    static Failure of(@NotNull Throwable t, @NotNull PmCallSite caller) {
         StackTraceElement[] stErr = t.getStackTrace();
-        LinkedList<String> places = new LinkedList<>();
-        for (StackTraceElement error : stErr) {
-            places.addFirst(lineOf(error));
-            if (caller.getClassName().equals(error.getClassName()) && caller.getMethodName().equals(error.getMethodName())) {
-                break;
+        if (stErr.length == 0) {
+            // stackless exception
+            if (t instanceof FailureException) {
+                return new PmTrouble(((FailureException) t).code, ((FailureException) t).status, t.getMessage(), caller);
+            } else {
+                return new PmTrouble(JAVA_EXCEPTION_CODE, JAVA_EXCEPTION_STATUS, t.toString(), caller);
             }
         }
+        int limit = Math.min(stErr.length, CapturePolicy.maxDepth());
+        int count = 0;
+        boolean found = false;
+        while (count < limit && !found) {
+            found = caller.sameMethodOf(stErr[count++]);
+        }
+        boolean truncated = !found && count < stErr.length;
+        // release the frames that will never be rendered
+        StackTraceElement[] frames = count < stErr.length ? Arrays.copyOf(stErr, count) : stErr;
         if (t instanceof FailureException) {
-            return new PmTrouble(((FailureException) t).code, ((FailureException) t).status, t.getMessage(), places);
+            return new PmTrouble(((FailureException) t).code, ((FailureException) t).status, t.getMessage(), frames, truncated);
         } else {
-            return new PmTrouble(JAVA_EXCEPTION_CODE, JAVA_EXCEPTION_STATUS, t.toString(), places);
+            return new PmTrouble(JAVA_EXCEPTION_CODE, JAVA_EXCEPTION_STATUS, t.toString(), frames, truncated);
         }
     }
 
     @Override
     public @Nullable String place() {
-        return place;
+        String text = place;
+        if (text == null) {
+            StringBuilder sb = new StringBuilder(64 * frames.length + 8).append("[ ");
+            if (truncated)
+                sb.append("..., ");
+            if (caller != null)
+                sb.append(caller.place());
+            for (int k = frames.length - 1; k >= 0; k--) {
+                sb.append(lineOf(frames[k]));
+                if (k > 0) sb.append(", ");
+            }
+            text = sb.append(" ]").toString();
+            place = text;
+        }
+        return text;
     }
 }
@@ -0,0 +1,32 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/*
+ * Engine of a forEachVirtual(maxConcurrency) loop, Java 8 baseline: virtual threads are not available,
+ * the items are consumed by a pool of at most maxConcurrency platform workers (PmWorkerPool).
+ * On Java 21+ this class is replaced (multi-release jar) by a version that starts a virtual thread for each item.
+ */
+final class PmVirtualPool {
+    private final PmWorkerPool pool;
+
+    PmVirtualPool(int maxConcurrency, @NotNull PmNoneBuilder bld, PmLoopBudget.Run run, @NotNull Function<Object, ? extends ItemStatus> task) {
+        this.pool = new PmWorkerPool(maxConcurrency, bld, run, task);
+    }
+
+    /*
+     * called by the feeding thread only
+     */
+    void submit(Object item) {
+        pool.submit(item);
+    }
+
+    /*
+     * waits until every submitted item has been consumed
+     */
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -4,35 +4,74 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 class PmWarning extends PmSignal implements Warning {
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final ConcurrentMap<CustMsg, PmWarning> SHARED = new ConcurrentHashMap<>();
 
-    private final String place;
+    private final PmCallSite site;
 
-    protected PmWarning(String code, int status, String text, StackTraceElement stack) {
-        super(code, status, text);
-        this.place = lineOf(stack);
+    protected PmWarning(@NotNull CustMsg ce, Object[] objects, PmCallSite site) {
+        super(ce, objects);
+        this.site = site;
     }
 
-    protected PmWarning(@NotNull Map<String, Object> properties, String code, int status, String text, StackTraceElement stack) {
-        super(properties, code, status, text);
-        this.place = lineOf(stack);
+    protected PmWarning(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object[] objects, PmCallSite site) {
+        super(properties, ce, objects);
+        this.site = site;
     }
 
-    protected static @NotNull Warning of(StackTraceElement ste, @NotNull CustMsg ce, Object... objects) {
-        String code = ce.code();
-        String text = ce.message(objects);
-        return new PmWarning(code, ce.statusCode(), text, ste);
+    /*
+     * the message is formatted on the first message() call
+     */
+    protected static @NotNull Warning of(PmCallSite site, @NotNull CustMsg ce, Object... objects) {
+        if (site == null && (objects == null || objects.length == 0) && ce.flyweight() && ce instanceof Enum) {
+            return shared(ce);
+        }
+        return new PmWarning(ce, objects, site);
     }
 
-    protected static @NotNull Warning of(@NotNull Map<String, Object> properties, StackTraceElement ste, @NotNull CustMsg ce, Object... objects) {
-        String code = ce.code();
-        String text = ce.message(objects);
-        return new PmWarning(properties, code, ce.statusCode(), text, ste);
+    /*
+     * never the shared instance: the caller gets the signal and may set properties on it
+     */
+    protected static @NotNull Warning unshared(PmCallSite site, @NotNull CustMsg ce, Object... objects) {
+        return new PmWarning(ce, objects, site);
+    }
+
+    private static @NotNull Warning shared(@NotNull CustMsg ce) {
+        PmWarning signal = SHARED.get(ce);
+        if (signal == null) {
+            signal = SHARED.computeIfAbsent(ce, Shared::new);
+        }
+        return signal;
+    }
+
+    protected static @NotNull Warning of(@NotNull Map<String, Object> properties, PmCallSite site, @NotNull CustMsg ce, Object... objects) {
+        return new PmWarning(properties, ce, objects, site);
     }
 
     @Override
     public @Nullable String place() {
-        return place;
+        return site == null ? null : site.place();
+    }
+
+    /*
+     * flyweight instance, without parameters, properties and place, one for each enum constant;
+     * setting a property returns a copy with the property, the shared instance is left unchanged
+     */
+    private static class Shared extends PmWarning {
+        private final CustMsg ce;
+
+        private Shared(@NotNull CustMsg ce) {
+            super(ce, NO_ARGS, null);
+            this.ce = ce;
+        }
+
+        @Override
+        public <T> @NotNull Signal setProperty(String key, T value) {
+            return new PmWarning(ce, NO_ARGS, null).setProperty(key, value);
+        }
     }
 }
@@ -0,0 +1,152 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+ * Workers of a forEachParallel(maxThread) loop.
+ * The feeding thread hands the items over through a bounded queue, so it blocks when the workers are behind;
+ * a worker is started for each submitted item until there are maxThread of them, then they are reused.
+ * Each worker keeps the outcomes with signals in a local buffer, added to the builder every FLUSH outcomes
+ * and when the worker ends; with a budget each outcome is added and accounted at once, so the builder
+ * holds all the outcomes counted when the loop stops.
+ * shutdown() queues an end marker for each worker and waits for them: the source is then drained.
+ * An item that is not processed, because the feeding thread has been interrupted or the budget is spent,
+ * is passed to the drop action, if any (the ordered map skips its number).
+ * An exception of the task goes to the uncaught exception handler, the worker goes on with the next item.
+ */
+final class PmWorkerPool {
+    private static final Object END = new Object();
+    private static final int FLUSH = 256;
+    private static final int MAX_QUEUE = 1024;
+    private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+    private final PmNoneBuilder bld;
+    private final PmLoopBudget.Run run;
+    private final Function<Object, ? extends ItemStatus> task;
+    private final Consumer<Object> drop;
+    private final BlockingQueue<Object> queue;
+    private final Thread[] workers;
+    private final String name;
+    private int started;
+    private volatile boolean aborted;
+
+    PmWorkerPool(int maxThread, @NotNull PmNoneBuilder bld, PmLoopBudget.Run run, @NotNull Function<Object, ? extends ItemStatus> task) {
+        this(maxThread, bld, run, task, null);
+    }
+
+    PmWorkerPool(int maxThread, @NotNull PmNoneBuilder bld, PmLoopBudget.Run run,
+                 @NotNull Function<Object, ? extends ItemStatus> task, Consumer<Object> drop) {
+        this.bld = bld;
+        this.run = run;
+        this.task = task;
+        this.drop = drop;
+        this.queue = new ArrayBlockingQueue<>((int) Math.min(2L * maxThread, MAX_QUEUE));
+        this.workers = new Thread[maxThread];
+        this.name = "pm-loop-" + POOL_ID.incrementAndGet() + "-worker-";
+    }
+
+    /*
+     * called by the feeding thread only; if it is interrupted the remaining items are discarded
+     */
+    void submit(Object item) {
+        if (aborted) {
+            drop(item);
+            return;
+        }
+        if (started < workers.length && (started == 0 || !queue.isEmpty())) {
+            Thread worker = new Thread(this::work, name + started);
+            worker.setDaemon(true);
+            workers[started++] = worker;
+            worker.start();
+        }
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            aborted = true;
+            drop(item);
+            List<Object> queued = new ArrayList<>();
+            queue.drainTo(queued);
+            for (Object dropped : queued) {
+                drop(dropped);
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void shutdown() {
+        boolean interrupted = Thread.interrupted();
+        for (int k = 0; k < started; k++) {
+            for (;;) {
+                try {
+                    queue.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (int k = 0; k < started; k++) {
+            for (;;) {
+                try {
+                    workers[k].join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    private void work() {
+        List<ItemStatus> local = new ArrayList<>();
+        try {
+            for (;;) {
+                Object item = queue.take();
+                if (item == END)
+                    break;
+                if (aborted || (run != null && run.stopped())) {
+                    drop(item);
+                    continue;
+                }
+                try {
+                    ItemStatus status = task.apply(item);
+                    if (run != null) {
+                        bld.add(status);
+                        run.account(status);
+                    } else if (!status.completeSuccess()) {
+                        local.add(status);
+                        if (local.size() == FLUSH) flush(local);
+                    }
+                } catch (RuntimeException | Error e) {
+                    Thread self = Thread.currentThread();
+                    self.getUncaughtExceptionHandler().uncaughtException(self, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            // worker interrupted from outside: it ends, the items it had not taken are left to the others
+        } finally {
+            flush(local);
+        }
+    }
+
+    private void drop(Object item) {
+        if (drop != null) drop.accept(item);
+    }
+
+    private void flush(@NotNull List<ItemStatus> local) {
+        for (ItemStatus status : local) {
+            bld.add(status);
+        }
+        local.clear();
+    }
+}
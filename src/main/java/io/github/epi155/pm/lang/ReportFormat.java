@@ -0,0 +1,80 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Report of signals and results, written as they are read
+ * <p>
+ * The report is not built in memory: a result with millions of signals
+ * is written one signal at a time.
+ * <pre>
+ *      try (Writer wr = Files.newBufferedWriter(path)) {
+ *          ReportFormat.JSON_LINES.write(none, wr);
+ *      }  </pre>
+ */
+public enum ReportFormat {
+    /**
+     * same format as {@link Object#toString() toString()}
+     */
+    TEXT,
+    /**
+     * a JSON object for each signal, one per line
+     * <pre>
+     * {"type":"error","code":"E01","status":500,"message":"...","place":"...","properties":{"row":3}}</pre>
+     */
+    JSON_LINES;
+
+    /**
+     * Writes the report of a result
+     *
+     * @param status result
+     * @param out    destination
+     * @throws IOException if the destination fails
+     */
+    public void write(@NotNull ItemStatus status, @NotNull Appendable out) throws IOException {
+        if (this == TEXT) {
+            PmReport.text(status, out);
+        } else {
+            PmReport.jsonLines(status, out);
+        }
+    }
+
+    /**
+     * Writes the report of a result, UTF-8 encoded
+     * <p>
+     * The stream is flushed, not closed
+     * </p>
+     *
+     * @param status result
+     * @param out    destination
+     * @throws IOException if the destination fails
+     */
+    public void write(@NotNull ItemStatus status, @NotNull OutputStream out) throws IOException {
+        Writer wr = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        write(status, wr);
+        wr.flush();
+    }
+
+    /**
+     * Writes the report of a signal
+     *
+     * @param signal signal
+     * @param out    destination
+     * @throws IOException if the destination fails
+     */
+    public void write(@NotNull Signal signal, @NotNull Appendable out) throws IOException {
+        if (this == TEXT) {
+            PmReport.text(signal, out);
+        } else {
+            PmReport.json(signal, out);
+            out.append('\n');
+        }
+    }
+}
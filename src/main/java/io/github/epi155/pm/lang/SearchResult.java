@@ -72,8 +72,8 @@ public interface SearchResult<S> extends SearchResult2 {
      */
     @NoBuiltInCapture
     static <T> @NotNull SearchResult<T> fault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        return new PmSearchResult<>(null, PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv));
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        return new PmSearchResult<>(null, PmFailure.of(site, ce, argv));
     }
 
     /**
@@ -84,8 +84,7 @@ public interface SearchResult<S> extends SearchResult2 {
      */
     @NoBuiltInCapture
     static <T> @NotNull SearchResult<T> capture(@NotNull Throwable t) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         return new PmSearchResult<>(null, PmTrouble.of(t, caller));
     }
 
@@ -48,11 +48,15 @@ public interface Signal {
 
     /**
      * Store the value of a property associated with Failure
+     * <p>
+     * On a shared instance (see {@link CustMsg#flyweight()}) the property is stored on a copy,
+     * which is returned
+     * </p>
      *
      * @param key   name that identifies the property
      * @param value value to be saved
      * @param <T>   value type
-     * @return {@link Failure} instance
+     * @return {@link Failure} instance, the copy for a shared instance
      */
     <T> @NotNull Signal setProperty(String key, T value);
 
@@ -0,0 +1,174 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Number of signals with the same code, status and kind (error or warning)
+ * <p>
+ * A bounded builder (see {@link None#boundedBuilder(int, int)} and {@link None#histogramBuilder(int)})
+ * keeps only some signals:
+ * {@link #retained()} are available in {@link ItemStatus#signals()},
+ * {@link #dropped()} have only been counted.
+ * </p>
+ */
+public final class SignalCount {
+    private static final Comparator<SignalCount> ORDER = Comparator
+        .comparing(SignalCount::code)
+        .thenComparingInt(SignalCount::status)
+        .thenComparing(SignalCount::isFailure, Comparator.reverseOrder());
+
+    private final String code;
+    private final int status;
+    private final boolean failure;
+    private final long retained;
+    private final long dropped;
+
+    SignalCount(@NotNull String code, int status, boolean failure, long retained, long dropped) {
+        this.code = code;
+        this.status = status;
+        this.failure = failure;
+        this.retained = retained;
+        this.dropped = dropped;
+    }
+
+    static @NotNull List<SignalCount> countOf(@NotNull Collection<? extends Signal> signals) {
+        Map<String, Tally> tallies = new HashMap<>();
+        for (Signal signal : signals) {
+            tallyOf(tallies, signal.code(), signal.status(), signal instanceof Failure).retained.incrementAndGet();
+        }
+        return snapshot(tallies.values());
+    }
+
+    /*
+     * tallies are looked up by code, then by status and kind along the chain of the code:
+     * no key is built for each signal
+     */
+    static @NotNull Tally tallyOf(@NotNull Map<String, Tally> tallies, @NotNull String code, int status, boolean failure) {
+        Tally head = tallies.get(code);
+        if (head == null) {
+            head = tallies.computeIfAbsent(code, k -> new Tally(code, status, failure));
+        }
+        return head.find(status, failure);
+    }
+
+    static @NotNull List<SignalCount> snapshot(@NotNull Collection<Tally> heads) {
+        List<SignalCount> counts = new ArrayList<>(heads.size());
+        for (Tally head : heads) {
+            for (Tally tally = head; tally != null; tally = tally.next) {
+                counts.add(tally.snapshot());
+            }
+        }
+        counts.sort(ORDER);
+        return counts;
+    }
+
+    /**
+     * signal code
+     *
+     * @return signal code
+     */
+    public @NotNull String code() {
+        return code;
+    }
+
+    /**
+     * signal status
+     *
+     * @return signal status
+     */
+    public int status() {
+        return status;
+    }
+
+    /**
+     * kind of the signals
+     *
+     * @return <i>true</i> for errors, <i>false</i> for warnings
+     */
+    public boolean isFailure() {
+        return failure;
+    }
+
+    /**
+     * number of signals raised
+     *
+     * @return retained + dropped signals
+     */
+    public long occurrences() {
+        return retained + dropped;
+    }
+
+    /**
+     * number of signals kept
+     *
+     * @return retained signals
+     */
+    public long retained() {
+        return retained;
+    }
+
+    /**
+     * number of signals only counted
+     *
+     * @return dropped signals
+     */
+    public long dropped() {
+        return dropped;
+    }
+
+    @Override
+    public String toString() {
+        return "{ code: \"" + code + "\", status: " + status + ", failure: " + failure +
+            ", retained: " + retained + ", dropped: " + dropped + " }";
+    }
+
+    /*
+     * running counters of a code/status/kind, chained to the other status/kind of the same code
+     */
+    static final class Tally {
+        private static final AtomicReferenceFieldUpdater<Tally, Tally> NEXT_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(Tally.class, Tally.class, "next");
+
+        final AtomicLong retained = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        private final String code;
+        private final int status;
+        private final boolean failure;
+        private volatile Tally next;
+
+        Tally(@NotNull String code, int status, boolean failure) {
+            this.code = code;
+            this.status = status;
+            this.failure = failure;
+        }
+
+        private @NotNull Tally find(int status, boolean failure) {
+            Tally tally = this;
+            for (;;) {
+                if (tally.status == status && tally.failure == failure)
+                    return tally;
+                Tally link = tally.next;
+                if (link == null) {
+                    link = new Tally(code, status, failure);
+                    if (NEXT_UPDATER.compareAndSet(tally, null, link))
+                        return link;
+                    link = tally.next;
+                }
+                tally = link;
+            }
+        }
+
+        @NotNull SignalCount snapshot() {
+            return new SignalCount(code, status, failure, retained.get(), dropped.get());
+        }
+    }
+}
@@ -82,8 +82,8 @@ public interface Some<T> extends ManyErrors, AnyValue<T> {
      */
     @NoBuiltInCapture
     static <U> @NotNull Some<U> fault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(site, ce, argv);
         return new PmSome<>(Collections.singletonList(fail));
     }
 
@@ -98,8 +98,8 @@ public interface Some<T> extends ManyErrors, AnyValue<T> {
      */
     @NoBuiltInCapture
     static <U> @NotNull Some<U> fault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(properties, site, ce, argv);
         return new PmSome<>(Collections.singletonList(fail));
     }
 
@@ -112,8 +112,7 @@ public interface Some<T> extends ManyErrors, AnyValue<T> {
      */
     @NoBuiltInCapture
     static <U> @NotNull Some<U> capture(@NotNull Throwable t) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        StackTraceElement caller = stPtr[PmAnyBuilder.J_LOCATE];
+        PmCallSite caller = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
         return new PmSome<>(Collections.singletonList(PmTrouble.of(t, caller)));
     }
 
@@ -127,8 +126,8 @@ public interface Some<T> extends ManyErrors, AnyValue<T> {
     @NoBuiltInCapture
     static <U> @NotNull Some<U> of(@NotNull U value) {
         if (value instanceof Signal) {
-            StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-            @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], EnumMessage.ILL_ARG);
+            PmCallSite site = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
+            @NotNull Failure fail = PmFailure.of(site, EnumMessage.ILL_ARG);
             @NotNull SomeBuilder<U> bld = Some.builder();
             bld.add((Signal) value);
             bld.add(fail);
@@ -152,8 +151,8 @@ public interface Some<T> extends ManyErrors, AnyValue<T> {
          */
         //noinspection ConstantValue
         if (value == null) {    // null select this method
-            StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-            @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], EnumMessage.NIL_ARG);
+            PmCallSite site = PmStackWalker.frame(PmAnyBuilder.J_LOCATE);
+            @NotNull Failure fail = PmFailure.of(site, EnumMessage.NIL_ARG);
             return new PmSome<>(Collections.singletonList(fail));
         }
         return PmSome.of(value);
@@ -83,8 +83,8 @@ public interface SomeBuilder<T> extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull SomeBuilder<T> withAlert(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Warning warn = PmWarning.of(site, ce, argv);
         add(warn);
         return this;
     }
@@ -98,8 +98,8 @@ public interface SomeBuilder<T> extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull SomeBuilder<T> withAlert(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Warning warn = PmWarning.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Warning warn = PmWarning.of(properties, site, ce, argv);
         add(warn);
         return this;
     }
@@ -112,8 +112,8 @@ public interface SomeBuilder<T> extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull SomeBuilder<T> withFault(@NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(site, ce, argv);
         add(fail);
         return this;
     }
@@ -127,8 +127,8 @@ public interface SomeBuilder<T> extends ErrorBuilder {
      * @return builder itself
      */
     default @NotNull SomeBuilder<T> withFault(@NotNull Map<String, Object> properties, @NotNull CustMsg ce, Object... argv) {
-        StackTraceElement[] stPtr = Thread.currentThread().getStackTrace();
-        @NotNull Failure fail = PmFailure.of(properties, stPtr[PmAnyBuilder.J_LOCATE], ce, argv);
+        PmCallSite site = PmCallSite.locate(ce, PmAnyBuilder.J_LOCATE);
+        @NotNull Failure fail = PmFailure.of(properties, site, ce, argv);
         add(fail);
         return this;
     }
@@ -0,0 +1,26 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link NoneBuilder} that moves the signals to a temporary file above a threshold
+ * <p>
+ * The builder and the {@link CloseableNone} instances it builds share the file.
+ * Closing one of them deletes the file, which also ends the builder:
+ * adding a signal above the threshold then throws {@link IllegalStateException},
+ * and the signals in the file can no longer be read from the other instances.
+ * So build (and close) the final instance once the builder is no longer needed.
+ * </p>
+ *
+ * @see None#spillingBuilder(int)
+ */
+public interface SpillingNoneBuilder extends NoneBuilder {
+    /**
+     * Final {@link None}, to be closed to delete the temporary file
+     * (after that, the builder can no longer spill signals)
+     *
+     * @return {@link CloseableNone} instance
+     */
+    @Override
+    @NotNull CloseableNone build();
+}
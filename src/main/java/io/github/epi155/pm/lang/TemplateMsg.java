@@ -0,0 +1,44 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Custom message with a precompiled {@link MsgTemplate}
+ * <p>
+ * The pattern is parsed once, usually when the enum is initialized
+ * <pre>
+ *      enum MyMsg implements TemplateMsg {
+ *          E01("E01", 500, "value %s not valid for {0}"),
+ *          ;
+ *          private final String code;
+ *          private final int status;
+ *          private final MsgTemplate template;
+ *          MyMsg(String code, int status, String pattern) {
+ *              this.code = code;
+ *              this.status = status;
+ *              this.template = MsgTemplate.compile(pattern);
+ *          }
+ *          public String code() { return code; }
+ *          public int statusCode() { return status; }
+ *          public MsgTemplate template() { return template; }
+ *      }  </pre>
+ */
+public interface TemplateMsg extends CustMsg {
+    /**
+     * message template
+     *
+     * @return precompiled message template
+     */
+    @NotNull MsgTemplate template();
+
+    /**
+     * message builder, renders the {@link #template() template}
+     *
+     * @param objects message parameters
+     * @return final message
+     */
+    @Override
+    default String message(Object[] objects) {
+        return template().format(objects);
+    }
+}
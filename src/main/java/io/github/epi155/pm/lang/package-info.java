@@ -699,6 +699,27 @@
  *  None none = None
  *      .{@link io.github.epi155.pm.lang.None#iterable(java.lang.Iterable) iterable(Iterable&lt;? extends AnyValue&lt;E>>)}
  *      .{@link io.github.epi155.pm.lang.LoopConsumer#forEachParallel(java.util.concurrent.ExecutorService, java.util.function.Function) forEachParallel(ExecutorService, Function&lt;? super E, ? extends ItemStatus>)}
+ *  None none = None
+ *      .{@link io.github.epi155.pm.lang.None#iterableOf(java.lang.Iterable) iterableOf(Iterable&lt;? extends E>)}
+ *      .{@link io.github.epi155.pm.lang.LoopConsumer#forEachVirtual(int, java.util.function.Function) forEachVirtual(int, Function&lt;? super E, ? extends ItemStatus>)}
+ * </pre>
+ * <h3>Loop (batches, ordered results)</h3>
+ * <pre>
+ *  None none = None
+ *      .{@link io.github.epi155.pm.lang.None#iterableOf(java.lang.Iterable) iterableOf(Iterable&lt;? extends E>)}
+ *      .{@link io.github.epi155.pm.lang.LoopConsumer#forEachBatch(int, java.util.function.Function) forEachBatch(int, Function&lt;? super List&lt;E>, ? extends ItemStatus>)}
+ *  Some&lt;List&lt;R>> some = None
+ *      .{@link io.github.epi155.pm.lang.None#iterableOf(java.lang.Iterable) iterableOf(Iterable&lt;? extends E>)}
+ *      .{@link io.github.epi155.pm.lang.LoopConsumer#mapParallel(int, java.util.function.Function) mapParallel(int, Function&lt;? super E, ? extends AnyValue&lt;R>>)}
+ * </pre>
+ * <h3>Loop (early termination)</h3>
+ * <pre>
+ *  None none = None
+ *      .{@link io.github.epi155.pm.lang.None#iterableOf(java.lang.Iterable) iterableOf(Iterable&lt;? extends E>)}
+ *      .{@link io.github.epi155.pm.lang.LoopConsumer#failFast() failFast()}
+ *      <i>.{@link io.github.epi155.pm.lang.LoopConsumer#maxErrors(long) maxErrors(long)}</i>
+ *      <i>.{@link io.github.epi155.pm.lang.LoopConsumer#maxErrorRate(double, long) maxErrorRate(double, long)}</i>
+ *      .{@link io.github.epi155.pm.lang.LoopConsumer#forEach(java.util.function.Function) forEach(Function&lt;? super E, ? extends ItemStatus>)}
  * </pre>
  */
 package io.github.epi155.pm.lang;
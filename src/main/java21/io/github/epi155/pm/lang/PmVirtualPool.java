@@ -0,0 +1,92 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+/*
+ * Engine of a forEachVirtual(maxConcurrency) loop, Java 21+ version (multi-release jar):
+ * each item is consumed by its own virtual thread, at most maxConcurrency at a time (semaphore permits).
+ * The virtual threads never lock: they publish their outcomes on a lock-free queue,
+ * which the feeding thread drains into the builder, so a builder that synchronizes
+ * (e.g. the spilling one) never pins a carrier thread.
+ * With a budget every outcome is published and accounted by the virtual thread that produced it,
+ * so the loop stops within maxConcurrency items of the one that spent the budget;
+ * without, only the outcomes with signals are published.
+ * The budget counters are atomic, accounting doesn't lock.
+ */
+final class PmVirtualPool {
+    private static final ThreadFactory FACTORY = Thread.ofVirtual().name("pm-virtual-", 0).factory();
+
+    private final int maxConcurrency;
+    private final PmNoneBuilder bld;
+    private final PmLoopBudget.Run run;
+    private final Function<Object, ? extends ItemStatus> task;
+    private final Semaphore permits;
+    private final Queue<ItemStatus> outcomes = new ConcurrentLinkedQueue<>();
+    private volatile boolean aborted;
+
+    PmVirtualPool(int maxConcurrency, @NotNull PmNoneBuilder bld, PmLoopBudget.Run run, @NotNull Function<Object, ? extends ItemStatus> task) {
+        this.maxConcurrency = maxConcurrency;
+        this.bld = bld;
+        this.run = run;
+        this.task = task;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /*
+     * called by the feeding thread only; if it is interrupted the remaining items are discarded
+     */
+    void submit(Object item) {
+        if (aborted)
+            return;
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            aborted = true;
+            Thread.currentThread().interrupt();
+            return;
+        }
+        drain();
+        FACTORY.newThread(() -> consume(item)).start();
+    }
+
+    private void consume(Object item) {
+        try {
+            if (aborted || (run != null && run.stopped()))
+                return;
+            ItemStatus status = task.apply(item);
+            if (run != null) {
+                outcomes.add(status);
+                run.account(status);
+            } else if (!status.completeSuccess()) {
+                outcomes.add(status);
+            }
+        } catch (RuntimeException | Error e) {
+            Thread self = Thread.currentThread();
+            self.getUncaughtExceptionHandler().uncaughtException(self, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void drain() {
+        ItemStatus status;
+        while ((status = outcomes.poll()) != null) {
+            bld.add(status);
+        }
+    }
+
+    /*
+     * waits until every submitted item has been consumed
+     */
+    void shutdown() {
+        permits.acquireUninterruptibly(maxConcurrency);
+        permits.release(maxConcurrency);
+        drain();
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.epi155.pm.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Call site locator.
+ * <p>
+ * Java 9+ version (multi-release jar): only the frames up to the requested one are walked,
+ * the raw {@link StackWalker.StackFrame} is kept and rendered on demand.
+ * </p>
+ */
+class PmStackWalker {
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final int MAX_CACHED_DEPTH = 4;
+    @SuppressWarnings("unchecked")
+    private static final Function<Stream<StackWalker.StackFrame>, Optional<StackWalker.StackFrame>>[] SKIPPER = new Function[MAX_CACHED_DEPTH];
+
+    static {
+        for (int k = 0; k < MAX_CACHED_DEPTH; k++) {
+            SKIPPER[k] = skipper(k);
+        }
+    }
+
+    private PmStackWalker() {}
+
+    private static Function<Stream<StackWalker.StackFrame>, Optional<StackWalker.StackFrame>> skipper(int depth) {
+        return s -> s.skip(depth + 1L).findFirst();
+    }
+
+    /**
+     * Locate a frame above the method calling this one.
+     * <p>
+     * {@code depth} 0 is the method calling {@code frame}, 1 is its caller, and so on.
+     * </p>
+     *
+     * @param depth number of frames to skip above the invoking method
+     * @return call site
+     */
+    static @NotNull PmCallSite frame(int depth) {
+        Function<Stream<StackWalker.StackFrame>, Optional<StackWalker.StackFrame>> fcn =
+            depth < MAX_CACHED_DEPTH ? SKIPPER[depth] : skipper(depth);
+        return WALKER.walk(fcn)
+            .<PmCallSite>map(FrameSite::new)
+            .orElseGet(() -> new FrameSite(null));
+    }
+
+    private static class FrameSite extends PmCallSite {
+        private final StackWalker.StackFrame frame;
+
+        private FrameSite(StackWalker.StackFrame frame) {
+            this.frame = frame;
+        }
+
+        @Override
+        protected String className() {
+            return frame == null ? null : frame.getClassName();
+        }
+
+        @Override
+        protected String methodName() {
+            return frame == null ? null : frame.getMethodName();
+        }
+
+        @Override
+        protected String fileName() {
+            return frame == null ? null : frame.getFileName();
+        }
+
+        @Override
+        protected int lineNumber() {
+            return frame == null ? -1 : frame.getLineNumber();
+        }
+    }
+}
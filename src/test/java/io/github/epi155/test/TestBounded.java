@@ -0,0 +1,179 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class TestBounded {
+    private static final CustMsg BAD_FIELD = unplaced("BD01", 422);
+    private static final CustMsg BAD_ROW = unplaced("BD02", 500);
+
+    private static @NotNull CustMsg unplaced(String code, int status) {
+        return new PmCustMsg(code, status, "Bad {}") {
+            @Override
+            public CapturePolicy capturePolicy() {
+                return CapturePolicy.off();
+            }
+        };
+    }
+
+    private static @NotNull ItemStatus validate(int k) {
+        if (k % 2 == 0) return Nope.fault(BAD_FIELD, k);
+        if (k % 3 == 0) return None.alert(BAD_ROW, k);
+        return Nope.nope();
+    }
+
+    @Test
+    void testPerCode() {
+        List<Integer> list = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        @NotNull None none = None.boundedBuilder(1000, 10)
+            .iterableOf(list)
+            .forEach(TestBounded::validate)
+            .build();
+        Assertions.assertTrue(none.completeWithErrors());
+        Assertions.assertEquals(20, none.signals().size());
+        List<SignalCount> counts = new ArrayList<>(none.counts());
+        Assertions.assertEquals(2, counts.size());
+        SignalCount fields = counts.get(0);
+        Assertions.assertEquals("BD01", fields.code());
+        Assertions.assertEquals(422, fields.status());
+        Assertions.assertTrue(fields.isFailure());
+        Assertions.assertEquals(5000, fields.occurrences());
+        Assertions.assertEquals(10, fields.retained());
+        Assertions.assertEquals(4990, fields.dropped());
+        SignalCount rows = counts.get(1);
+        Assertions.assertFalse(rows.isFailure());
+        Assertions.assertEquals(1667, rows.occurrences());
+        Assertions.assertEquals(1657, rows.dropped());
+        Assertions.assertEquals("5000 error(s), 1667 warning(s) found, 6647 not retained", none.summary().orElse(null));
+    }
+
+    @Test
+    void testGlobal() {
+        @NotNull NoneBuilder bld = None.boundedBuilder(5, 100);
+        for (int k = 0; k < 50; k++) {
+            bld.alert(BAD_ROW, k);
+        }
+        bld.fault(BAD_FIELD, 0);    // first error always retained
+        bld.fault(BAD_FIELD, 1);
+        @NotNull None none = bld.build();
+        Assertions.assertTrue(none.completeWithErrors());
+        Assertions.assertEquals(6, none.signals().size());
+        Assertions.assertEquals(1, none.signals().stream().filter(Failure.class::isInstance).count());
+        long dropped = none.counts().stream().mapToLong(SignalCount::dropped).sum();
+        Assertions.assertEquals(46, dropped);
+    }
+
+    @Test
+    void testParallel() {
+        List<Integer> list = IntStream.range(0, 2_000).boxed().collect(Collectors.toList());
+        @NotNull None none = None.boundedBuilder(50, 1000)
+            .iterableOf(list)
+            .forEachParallel(8, TestBounded::validate)
+            .build();
+        Assertions.assertEquals(50, none.signals().size());
+        Assertions.assertEquals(1000 + 333, none.counts().stream().mapToLong(SignalCount::occurrences).sum());
+    }
+
+    @Test
+    void testUnbounded() {
+        @NotNull None none = IntStream.range(0, 12)
+            .mapToObj(TestBounded::validate)
+            .collect(None.collect());
+        List<SignalCount> counts = new ArrayList<>(none.counts());
+        Assertions.assertEquals(2, counts.size());
+        Assertions.assertEquals(6, counts.get(0).retained());
+        Assertions.assertEquals(0, counts.get(0).dropped());
+        Assertions.assertEquals(2, counts.get(1).occurrences());
+        Assertions.assertTrue(None.none().counts().isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.boundedBuilder(0, 1));
+    }
+
+    @Test
+    void testHistogram() {
+        @NotNull NoneBuilder bld = None.histogramBuilder(3);
+        for (int k = 0; k < 1_000; k++) {
+            bld.withStatus(validate(k));
+        }
+        @NotNull None none = bld.build();
+        Assertions.assertTrue(none.completeWithErrors());
+        Assertions.assertEquals(6, none.signals().size());
+        List<SignalCount> counts = new ArrayList<>(none.counts());
+        Assertions.assertEquals(500, counts.get(0).occurrences());
+        Assertions.assertEquals(3, counts.get(0).retained());
+        Assertions.assertEquals(167, counts.get(1).occurrences());
+        Assertions.assertEquals("500 error(s), 167 warning(s) found, 661 not retained", none.summary().orElse(null));
+    }
+
+    @Test
+    void testCounters() {
+        @NotNull NoneBuilder bld = None.histogramBuilder(3);
+        for (int k = 0; k < 1_000; k++) {
+            bld.withStatus(validate(k));
+        }
+        Assertions.assertEquals(500, bld.errorCount());
+        Assertions.assertEquals(167, bld.warningCount());
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(500, none.errorCount());
+        Assertions.assertEquals(167, none.warningCount());
+        Assertions.assertEquals(3, none.failures().size());
+        Assertions.assertEquals(6, none.signals().size());
+
+        @NotNull NoneBuilder outer = None.boundedBuilder(1, 1);
+        outer.withStatus(none);
+        Assertions.assertEquals(500, outer.errorCount());
+        Assertions.assertEquals(167, outer.build().warningCount());
+    }
+
+    @Test
+    void testSameCode() {
+        CustMsg badLength = unplaced("BD01", 400);
+        @NotNull NoneBuilder bld = None.histogramBuilder(1);
+        for (int k = 0; k < 10; k++) {
+            bld.fault(BAD_FIELD, k);
+            bld.fault(badLength, k);
+            bld.alert(BAD_FIELD, k);
+        }
+        List<SignalCount> counts = new ArrayList<>(bld.build().counts());
+        Assertions.assertEquals(3, counts.size());
+        Assertions.assertEquals(400, counts.get(0).status());
+        Assertions.assertTrue(counts.get(1).isFailure());
+        Assertions.assertFalse(counts.get(2).isFailure());
+        counts.forEach(c -> Assertions.assertEquals(10, c.occurrences()));
+        counts.forEach(c -> Assertions.assertEquals(1, c.retained()));
+    }
+
+    @Test
+    void testCollectHistogram() {
+        @NotNull None none = IntStream.range(0, 10_000).boxed()
+            .parallel()
+            .map(TestBounded::validate)
+            .collect(None.collectHistogram(2));
+        Assertions.assertEquals(4, none.signals().size());
+        List<SignalCount> counts = new ArrayList<>(none.counts());
+        Assertions.assertEquals(2, counts.size());
+        Assertions.assertEquals(5000, counts.get(0).occurrences());
+        Assertions.assertEquals(2, counts.get(0).retained());
+        Assertions.assertEquals(1667, counts.get(1).occurrences());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.collectHistogram(0));
+    }
+
+    @Test
+    void testNested() {
+        @NotNull NoneBuilder inner = None.histogramBuilder(1);
+        for (int k = 0; k < 10; k++) {
+            inner.fault(BAD_FIELD, k);
+        }
+        @NotNull NoneBuilder outer = None.histogramBuilder(5);
+        outer.withStatus(inner.build());
+        @NotNull None none = outer.build();
+        Assertions.assertEquals(1, none.signals().size());
+        Assertions.assertEquals(10, none.counts().iterator().next().occurrences());
+    }
+}
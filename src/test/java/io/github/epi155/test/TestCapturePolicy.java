@@ -0,0 +1,124 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class TestCapturePolicy {
+    private static final CustMsg MY_FAULT = PmCustMsg.of("CP01", "Capture error {}");
+
+    private static @NotNull CustMsg withPolicy(String code, CapturePolicy policy) {
+        return new PmCustMsg(code, 500, "Capture error {}") {
+            @Override
+            public CapturePolicy capturePolicy() {
+                return policy;
+            }
+        };
+    }
+
+    @Test
+    void testFull() {
+        @NotNull Failure fail = Hope.fault(MY_FAULT, 1).failure();
+        Assertions.assertNotNull(fail.place());
+        Assertions.assertTrue(fail.place().contains("testFull"));
+    }
+
+    @Test
+    void testOff() {
+        CustMsg ce = withPolicy("CP02", CapturePolicy.off());
+        Assertions.assertNull(Hope.fault(ce, 1).failure().place());
+        Assertions.assertNull(Nope.fault(ce, 1).failure().place());
+        @NotNull NoneBuilder bld = None.builder();
+        bld.fault(ce, 2);
+        bld.alert(ce, 3);
+        bld.withFault(ce, 4);
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(3, none.signals().size());
+        none.signals().forEach(s -> Assertions.assertNull(s.place()));
+        Assertions.assertEquals("Capture error 4", none.signals().stream().reduce((a, b) -> b).get().message());
+    }
+
+    @Test
+    void testSampled() {
+        CustMsg ce = withPolicy("CP03", CapturePolicy.sampled(3));
+        long captured = IntStream.range(0, 10)
+            .mapToObj(k -> Hope.fault(ce, k).failure())
+            .filter(f -> f.place() != null)
+            .count();
+        Assertions.assertEquals(4, captured);   // 0, 3, 6, 9
+    }
+
+    @Test
+    void testSampledOverride() {
+        CustMsg ce = new PmCustMsg("CP05", 500, "Capture error {}") {
+            @Override
+            public CapturePolicy capturePolicy() {
+                return CapturePolicy.sampled(3);
+            }
+        };
+        long captured = IntStream.range(0, 10)
+            .mapToObj(k -> Hope.fault(ce, k).failure())
+            .filter(f -> f.place() != null)
+            .count();
+        Assertions.assertEquals(4, captured);   // 0, 3, 6, 9
+        Assertions.assertSame(CapturePolicy.sampled(3), CapturePolicy.sampled(3));
+    }
+
+    @Test
+    void testGlobal() {
+        CapturePolicy saved = CapturePolicy.global();
+        try {
+            CapturePolicy.setGlobal(CapturePolicy.off());
+            Assertions.assertNull(None.fault(MY_FAULT, 1).signals().iterator().next().place());
+            CustMsg ce = withPolicy("CP04", CapturePolicy.full());
+            Assertions.assertNotNull(None.fault(ce, 1).signals().iterator().next().place());
+        } finally {
+            CapturePolicy.setGlobal(saved);
+        }
+    }
+
+    @Test
+    void testIllegal() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CapturePolicy.sampled(0));
+        Assertions.assertEquals(CapturePolicy.Mode.FULL, CapturePolicy.sampled(1).mode());
+        Assertions.assertEquals("sampled:5", CapturePolicy.sampled(5).toString());
+    }
+
+    @Test
+    void testDepth() {
+        String shallow = Nope.capture(crash(3)).failure().place();
+        Assertions.assertNotNull(shallow);
+        Assertions.assertTrue(shallow.startsWith("[ io.github.epi155.test.TestCapturePolicy->testDepth("));
+        Assertions.assertEquals(5, shallow.split("->").length - 1);   // testDepth, crash, recurse * 3
+
+        int saved = CapturePolicy.maxDepth();
+        try {
+            CapturePolicy.setMaxDepth(4);
+            String deep = Nope.capture(crash(20)).failure().place();
+            Assertions.assertNotNull(deep);
+            Assertions.assertTrue(deep.startsWith("[ ..., "));
+            Assertions.assertEquals(4, deep.split("->").length - 1);
+        } finally {
+            CapturePolicy.setMaxDepth(saved);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CapturePolicy.setMaxDepth(0));
+    }
+
+    private static RuntimeException crash(int depth) {
+        try {
+            recurse(depth);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static void recurse(int depth) {
+        if (depth <= 1)
+            throw new IllegalStateException("deep");
+        recurse(depth - 1);
+    }
+}
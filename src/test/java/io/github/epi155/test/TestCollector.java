@@ -0,0 +1,64 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class TestCollector {
+    private static final CustMsg MY_FAULT = PmCustMsg.of("CL01", "Bad {}");
+    private static final CustMsg MY_ALERT = PmCustMsg.of("CL02", "Odd {}");
+
+    private static @NotNull ItemStatus validate(int k) {
+        if (k % 5 == 0) return Nope.fault(MY_FAULT, k);
+        if (k % 7 == 0) return None.alert(MY_ALERT, k);
+        return Nope.nope();
+    }
+
+    @Test
+    void testConcurrent() {
+        @NotNull None none = IntStream.range(0, 10_000).boxed()
+            .parallel()
+            .map(TestCollector::validate)
+            .collect(None.collectConcurrent());
+        Assertions.assertEquals(2000, none.errorCount());
+        Assertions.assertEquals(1143, none.warningCount());
+        Assertions.assertEquals(3143, none.signals().size());
+        Assertions.assertTrue(none.completeWithErrors());
+    }
+
+    @Test
+    void testOrdered() {
+        @NotNull None none = IntStream.range(0, 10_000).boxed()
+            .parallel()
+            .map(TestCollector::validate)
+            .collect(None.collectOrdered());
+        Assertions.assertEquals(2000, none.errorCount());
+        Assertions.assertEquals(1143, none.warningCount());
+        List<String> expected = IntStream.range(0, 10_000)
+            .mapToObj(TestCollector::validate)
+            .flatMap(s -> s.signals().stream())
+            .map(Signal::message)
+            .collect(Collectors.toList());
+        List<String> actual = none.signals().stream().map(Signal::message).collect(Collectors.toList());
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals("2000 error(s), 1143 warning(s) found", none.summary().orElse(null));
+    }
+
+    @Test
+    void testEmpty() {
+        @NotNull None none = IntStream.range(1, 5).boxed()
+            .parallel()
+            .map(k -> Nope.nope())
+            .collect(None.collectOrdered());
+        Assertions.assertTrue(none.completeSuccess());
+        Assertions.assertTrue(IntStream.range(1, 5).boxed()
+            .map(k -> Nope.nope())
+            .collect(None.collectConcurrent())
+            .completeSuccess());
+    }
+}
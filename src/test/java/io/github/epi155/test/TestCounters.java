@@ -0,0 +1,116 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class TestCounters {
+    private static final CustMsg MY_FAULT = PmCustMsg.of("CN01", "Bad {}");
+    private static final CustMsg MY_ALERT = PmCustMsg.of("CN02", "Odd {}");
+
+    @Test
+    void testBuilder() {
+        @NotNull NoneBuilder bld = None.builder();
+        Assertions.assertEquals(0, bld.errorCount());
+        for (int k = 0; k < 10; k++) {
+            bld.alert(MY_ALERT, k);
+        }
+        Assertions.assertEquals(0, bld.errorCount());
+        Assertions.assertEquals(10, bld.warningCount());
+        bld.fault(MY_FAULT, 0);
+        bld.add(Nope.fault(MY_FAULT, 1));
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(2, none.errorCount());
+        Assertions.assertEquals(10, none.warningCount());
+        Assertions.assertEquals("2 error(s), 10 warning(s) found", none.summary().orElse(null));
+    }
+
+    @Test
+    void testComposition() {
+        @NotNull Some<Integer> some = Some.<Integer>builder()
+            .withAlert(MY_ALERT, 1)
+            .withAlert(MY_ALERT, 2)
+            .buildWithValue(3);
+        Assertions.assertEquals(0, some.errorCount());
+        Assertions.assertEquals(2, some.warningCount());
+        @NotNull Some<Integer> next = some.map(v -> Some.of(v + 1));
+        Assertions.assertEquals(2, next.warningCount());
+        @NotNull None none = next.asNone();
+        Assertions.assertEquals(2, none.warningCount());
+        Assertions.assertTrue(none.completeWarning());
+        @NotNull None failed = none.ergo(() -> Nope.fault(MY_FAULT, 3));
+        Assertions.assertEquals(1, failed.errorCount());
+        Assertions.assertEquals(2, failed.warningCount());
+        Assertions.assertTrue(failed.completeWithErrors());
+
+        Assertions.assertEquals(1, Hope.fault(MY_FAULT, 4).errorCount());
+        Assertions.assertEquals(0, Hope.of(4).errorCount());
+        Assertions.assertEquals(0, Nope.nope().warningCount());
+    }
+
+    @Test
+    void testAlerts() {
+        List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        @NotNull None none = None.builder()
+            .iterableOf(list)
+            .forEachParallel(4, k -> k % 10 == 0 ? None.alert(MY_ALERT, k) : None.fault(MY_FAULT, k))
+            .build();
+        Assertions.assertEquals(90, none.errorCount());
+        Assertions.assertEquals(10, none.warningCount());
+        Assertions.assertEquals(100, none.signals().size());
+        none.onSuccess(w -> Assertions.fail());
+        @NotNull Some<Integer> some = Some.<Integer>builder().withAlert(MY_ALERT, 0).buildWithValue(0);
+        some.onSuccess((Integer v, Collection<Warning> w1) -> some.onSuccess((Integer u, Collection<Warning> w2) -> {
+            Assertions.assertEquals(1, w1.size());
+            Assertions.assertSame(w1, w2);
+        }));
+    }
+
+    @Test
+    void testDefault() {
+        ItemStatus custom = new ItemStatus() {
+            @Override
+            public boolean completeSuccess() {
+                return false;
+            }
+
+            @Override
+            public boolean completeWithErrors() {
+                return true;
+            }
+
+            @Override
+            public Collection<Signal> signals() {
+                return None.builder().withAlert(MY_ALERT, 0).withFault(MY_FAULT, 1).signals();
+            }
+        };
+        Assertions.assertEquals(1, custom.errorCount());
+        Assertions.assertEquals(1, custom.warningCount());
+    }
+
+    @Test
+    void testChain() {
+        @NotNull Some<Integer> some = Some.<Integer>builder().withAlert(MY_ALERT, 0).buildWithValue(0);
+        for (int k = 1; k < 50_000; k++) {
+            int n = k;
+            some = some.map(v -> Some.<Integer>builder().withAlert(MY_ALERT, n).buildWithValue(n));
+        }
+        Assertions.assertEquals(50_000, some.warningCount());
+        Assertions.assertEquals(50_000, some.signals().size());
+        int k = 0;
+        for (Signal signal : some.signals()) {
+            Assertions.assertEquals("Odd " + k++, signal.message());
+        }
+        Assertions.assertEquals(50_000, k);
+        @NotNull None none = some.asNone().ergo(() -> Nope.fault(MY_FAULT, 0));
+        Assertions.assertEquals(1, none.errorCount());
+        Assertions.assertEquals(50_001, none.signals().stream().count());
+        Assertions.assertEquals("1 error(s), 50000 warning(s) found", none.summary().orElse(null));
+    }
+}
@@ -1,8 +1,7 @@
 package io.github.epi155.test;
 
-import io.github.epi155.pm.lang.CustMsg;
-import io.github.epi155.pm.lang.FailureException;
-import io.github.epi155.pm.lang.Nope;
+import io.github.epi155.pm.lang.*;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -12,6 +11,34 @@ class TestException {
 
     private static final CustMsg MY_FAULT = PmCustMsg.of("EA01", "Oop error {} !!");
 
+    private enum ExMsg implements CustMsg {
+        EA02("EA02", "Stop here"),
+        EA03("EA03", "Stop at %s");
+
+        private final String code;
+        private final String pattern;
+
+        ExMsg(String code, String pattern) {
+            this.code = code;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public String code() {
+            return code;
+        }
+
+        @Override
+        public String message(Object[] objects) {
+            return String.format(pattern, objects);
+        }
+
+        @Override
+        public int statusCode() {
+            return 500;
+        }
+    }
+
     @Test
     void test01() {
         Nope a1 = null;
@@ -38,6 +65,45 @@ class TestException {
         log.warn("Errore3: {}", a3);
     }
 
+    @Test
+    void test02() {
+        FailureException e = FailureException.stackless(MY_FAULT, "x");
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        Failure fail = Hope.capture(e).failure();
+        Assertions.assertEquals("EA01", fail.code());
+        Assertions.assertEquals("Oop error x !!", fail.message());
+        Assertions.assertNotNull(fail.place());
+        Assertions.assertTrue(fail.place().contains("TestException->test02"));
+    }
+
+    @Test
+    void test03() {
+        FailureException e = FailureException.cached(ExMsg.EA02);
+        Assertions.assertSame(e, FailureException.cached(ExMsg.EA02));
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        e.addSuppressed(new IOException("ignored"));
+        Assertions.assertEquals(0, e.getSuppressed().length);
+        Assertions.assertThrows(IllegalStateException.class, () -> e.initCause(new IOException()));
+        Nope nope;
+        try {
+            throw FailureException.cached(ExMsg.EA02);
+        } catch (FailureException x) {
+            nope = Nope.capture(x);
+        }
+        Assertions.assertEquals("EA02", nope.failure().code());
+        Assertions.assertEquals("Stop here", nope.failure().message());
+        Assertions.assertTrue(nope.failure().place().contains("TestException->test03"));
+    }
+
+    @Test
+    void test04() {
+        FailureException e = FailureException.cached(MY_FAULT);
+        Assertions.assertNotSame(e, FailureException.cached(MY_FAULT));
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        Assertions.assertEquals("EA01", Nope.capture(e).failure().code());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FailureException.cached(ExMsg.EA03));
+    }
+
     private Nope dump3() throws FailureException {
         return dump1();
     }
@@ -0,0 +1,165 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class TestFailFast {
+    private static final CustMsg MY_FAULT = PmCustMsg.of("FF01", "Bad {}");
+    private static final List<Integer> LIST = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+    /*
+     * the first fault loads the classes of the signal: in a parallel loop
+     * it must not let the other workers run through the source meanwhile
+     */
+    @BeforeAll
+    static void warmUp() {
+        Assertions.assertEquals(1, Nope.fault(MY_FAULT, 0).errorCount());
+    }
+
+    private static long stops(@NotNull None none) {
+        return none.signals().stream().filter(s -> "999L".equals(s.code())).count();
+    }
+
+    @Test
+    void testFailFast() {
+        AtomicInteger calls = new AtomicInteger();
+        @NotNull None none = None.iterableOf(LIST)
+            .failFast()
+            .forEach(k -> {
+                calls.incrementAndGet();
+                return k == 10 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+            });
+        Assertions.assertEquals(11, calls.get());
+        Assertions.assertEquals(1, none.errorCount());
+        Assertions.assertEquals(1, stops(none));
+        Assertions.assertTrue(none.signals().stream().anyMatch(Warning.class::isInstance));
+    }
+
+    @Test
+    void testMaxErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        @NotNull None none = None.streamOf(LIST.stream())
+            .maxErrors(5)
+            .forEach(k -> {
+                calls.incrementAndGet();
+                return k % 3 == 0 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+            });
+        Assertions.assertEquals(13, calls.get());
+        Assertions.assertEquals(5, none.errorCount());
+        Assertions.assertEquals(1, stops(none));
+
+        @NotNull None all = None.streamOf(LIST.stream())
+            .maxErrors(1000)
+            .forEach(k -> k % 3 == 0 ? Nope.fault(MY_FAULT, k) : Nope.nope());
+        Assertions.assertEquals(334, all.errorCount());
+        Assertions.assertEquals(0, stops(all));
+    }
+
+    @Test
+    void testRate() {
+        AtomicInteger calls = new AtomicInteger();
+        @NotNull None none = None.iterableOf(LIST)
+            .maxErrorRate(0.1, 100)
+            .forEach(k -> {
+                calls.incrementAndGet();
+                return k >= 500 && k % 2 == 0 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+            });
+        Assertions.assertTrue(calls.get() > 500 && calls.get() < 1000);
+        Assertions.assertEquals(1, stops(none));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.iterableOf(LIST).maxErrorRate(1.0, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.iterableOf(LIST).maxErrors(0));
+    }
+
+    @Test
+    void testBoundedBuilder() {
+        AtomicInteger calls = new AtomicInteger();
+        NoneBuilder bld = None.boundedBuilder(3, 2);
+        bld.iterableOf(LIST)
+            .maxErrors(5)
+            .forEach(k -> {
+                calls.incrementAndGet();
+                return k % 3 == 0 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+            });
+        Assertions.assertEquals(13, calls.get());
+
+        AtomicInteger parallel = new AtomicInteger();
+        NoneBuilder hst = None.histogramBuilder(1);
+        hst.iterableOf(LIST)
+            .maxErrors(5)
+            .forEachParallel(4, k -> {
+                parallel.incrementAndGet();
+                return k % 3 == 0 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+            });
+        Assertions.assertTrue(parallel.get() < LIST.size());
+        Assertions.assertEquals(1, stops(hst.build()));
+    }
+
+    @Test
+    void testValues() {
+        List<Hope<Integer>> values = LIST.stream()
+            .map(k -> k == 3 ? Hope.<Integer>fault(MY_FAULT, k) : Hope.of(k))
+            .collect(Collectors.toList());
+        AtomicInteger calls = new AtomicInteger();
+        @NotNull None none = None.iterable(values)
+            .failFast()
+            .forEach(k -> {
+                calls.incrementAndGet();
+                return Nope.nope();
+            });
+        Assertions.assertEquals(3, calls.get());
+        Assertions.assertEquals(1, none.errorCount());
+    }
+
+    @Test
+    void testThreads() {
+        AtomicInteger calls = new AtomicInteger();
+        @NotNull None none = None.iterableOf(LIST)
+            .failFast()
+            .forEachParallel(4, k -> {
+                calls.incrementAndGet();
+                return k == 10 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+            });
+        Assertions.assertTrue(calls.get() < LIST.size());
+        Assertions.assertEquals(1, none.errorCount());
+        Assertions.assertEquals(1, stops(none));
+    }
+
+    @Test
+    void testExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AtomicInteger calls = new AtomicInteger();
+            @NotNull None none = None.iterableOf(LIST)
+                .maxErrors(2)
+                .forEachParallel(executor, k -> {
+                    calls.incrementAndGet();
+                    return k % 2 == 0 ? Nope.fault(MY_FAULT, k) : Nope.nope();
+                });
+            Assertions.assertTrue(calls.get() < LIST.size());
+            // the other thread may be running an item that fails when the loop stops
+            Assertions.assertTrue(none.errorCount() >= 2 && none.errorCount() <= 3);
+            Assertions.assertEquals(1, stops(none));
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDummy() {
+        @NotNull Hope<List<Integer>> failed = Hope.fault(MY_FAULT, 0);
+        @NotNull None none = failed.iterableOf(l -> l).failFast().forEach(k -> Nope.nope());
+        Assertions.assertEquals(1, none.errorCount());
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class TestFlyweight {
+    private enum FwMsg implements CustMsg {
+        FW01(CapturePolicy.off()),
+        FW02(CapturePolicy.off()),
+        FW03(CapturePolicy.full()),
+        FW04(CapturePolicy.off()),
+        FW06(CapturePolicy.off()),
+        FW07(CapturePolicy.off());
+
+        private final CapturePolicy policy;
+
+        FwMsg(CapturePolicy policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public String code() {
+            return name();
+        }
+
+        @Override
+        public String message(Object[] objects) {
+            return "Missing field";
+        }
+
+        @Override
+        public int statusCode() {
+            return 500;
+        }
+
+        @Override
+        public CapturePolicy capturePolicy() {
+            return policy;
+        }
+
+        @Override
+        public boolean flyweight() {
+            return true;
+        }
+    }
+
+    @Test
+    void testShared() {
+        CustMsg ce = FwMsg.FW01;
+        @NotNull Failure f1 = Hope.fault(ce).failure();
+        @NotNull Failure f2 = Nope.fault(ce).failure();
+        Assertions.assertSame(f1, f2);
+        Assertions.assertEquals("Missing field", f1.message());
+        Assertions.assertNull(f1.place());
+
+        @NotNull NoneBuilder bld = None.builder();
+        for (int k = 0; k < 1000; k++) {
+            bld.withAlert(ce);
+            bld.withFault(ce);
+        }
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(2000, none.signals().size());
+        Set<Signal> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        instances.addAll(none.signals());
+        Assertions.assertEquals(2, instances.size());
+        Assertions.assertTrue(instances.contains(f1));
+    }
+
+    @Test
+    void testSetOnShared() {
+        CustMsg ce = FwMsg.FW02;
+        @NotNull Failure shared = Hope.fault(ce).failure();
+        @NotNull Signal copy = shared.setProperty("field", "name");
+        Assertions.assertNotSame(shared, copy);
+        Assertions.assertTrue(copy instanceof Failure);
+        Assertions.assertEquals("name", copy.getStrProperty("field"));
+        Assertions.assertEquals("Missing field", copy.message());
+        Assertions.assertEquals("FW02", copy.code());
+        Assertions.assertNull(shared.getStrProperty("field"));
+        Assertions.assertSame(shared, Nope.fault(ce).failure());
+        @NotNull Signal warning = None.alert(ce).signals().iterator().next();
+        Assertions.assertTrue(warning.setProperty("field", "name") instanceof Warning);
+    }
+
+    @Test
+    void testBuilderProperties() {
+        CustMsg ce = FwMsg.FW06;
+        CustMsg we = FwMsg.FW07;
+        @NotNull NoneBuilder bld = None.builder();
+        bld.fault(ce).setProperty("row", 3);
+        bld.alert(we).setProperty("row", 4);
+        bld.fault(ce).setProperty("row", 5);
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(Arrays.asList(3, 4, 5), none.signals().stream()
+            .map(s -> s.getProperty("row", Integer.class))
+            .collect(Collectors.toList()));
+        Assertions.assertNotSame(bld.fault(ce), Nope.fault(ce).failure());
+        @NotNull SomeBuilder<Integer> sb = Some.builder();
+        sb.fault(ce).setProperty("row", 6);
+        Assertions.assertEquals(6, sb.buildWithValue(1).signals().iterator().next().getProperty("row", Integer.class));
+    }
+
+    @Test
+    void testNotShared() {
+        CustMsg placed = FwMsg.FW03;
+        Assertions.assertNotSame(Hope.fault(placed).failure(), Hope.fault(placed).failure());
+        CustMsg ce = FwMsg.FW04;
+        Assertions.assertNotSame(Hope.fault(ce, 1).failure(), Hope.fault(ce, 1).failure());
+        Assertions.assertNotSame(Hope.fault(MY_PLAIN).failure(), Hope.fault(MY_PLAIN).failure());
+        CustMsg custom = new PmCustMsg("FW08", 500, "Missing field") {
+            @Override
+            public CapturePolicy capturePolicy() {
+                return CapturePolicy.off();
+            }
+
+            @Override
+            public boolean flyweight() {
+                return true;
+            }
+        };
+        Assertions.assertNotSame(Hope.fault(custom).failure(), Hope.fault(custom).failure());
+    }
+
+    private static final CustMsg MY_PLAIN = PmCustMsg.of("FW05", "Plain");
+}
@@ -0,0 +1,86 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+class TestHopePrimitive {
+    private static final CustMsg MY_FAULT = PmCustMsg.of("HP01", "Negative value {}");
+
+    private static @NotNull HopeInt checked(int n) {
+        return n < 0 ? HopeInt.fault(MY_FAULT, n) : HopeInt.of(n);
+    }
+
+    @Test
+    void testInt() {
+        @NotNull HopeInt h = HopeInt.of(20).mapToInt(n -> n + 1);
+        Assertions.assertTrue(h.completeSuccess());
+        Assertions.assertEquals(21, h.value());
+        Assertions.assertEquals(42L, h.mapToLong(n -> 2L * n).value());
+        Assertions.assertEquals(10.5, h.mapToDouble(n -> n / 2.0).value());
+        Assertions.assertEquals("21", h.mapToObj(Integer::toString).value());
+        Assertions.assertEquals(21, h.boxed().value());
+        Assertions.assertEquals("Negative value -21", h.maps(n -> checked(-n)).failure().message());
+        Assertions.assertTrue(h.asNope().completeSuccess());
+        Assertions.assertEquals("ok 21", h.mapTo(n -> "ok " + n, e -> e.code()));
+        int[] seen = new int[1];
+        h.implies(n -> seen[0] = n).onSuccess(n -> seen[0] += n).onFailure(e -> Assertions.fail());
+        Assertions.assertEquals(42, seen[0]);
+        Assertions.assertTrue(h.ergo(n -> None.none()).completeSuccess());
+        Assertions.assertTrue(h.ergoes(n -> Nope.fault(MY_FAULT, n)).completeWithErrors());
+    }
+
+    @Test
+    void testFault() {
+        @NotNull HopeInt h = checked(-3);
+        Assertions.assertTrue(h.completeWithErrors());
+        Assertions.assertThrows(NoSuchElementException.class, h::value);
+        Assertions.assertEquals("Negative value -3", h.failure().message());
+        @NotNull HopeDouble d = h.mapToLong(n -> n).mapToDouble(n -> n);
+        Assertions.assertSame(h.failure(), d.failure());
+        Assertions.assertSame(h.failure(), d.boxed().failure());
+        Assertions.assertSame(h.failure(), d.mapToInt(x -> (int) x).mapToObj(n -> n).failure());
+        Assertions.assertSame(h.failure(), h.asNope().failure());
+        Assertions.assertSame(h.failure(), h.ergo(n -> None.none()).signals().iterator().next());
+        h.implies(n -> Assertions.fail()).onSuccess(n -> Assertions.fail());
+        Assertions.assertEquals("HP01", h.mapTo(n -> "ok", Signal::code));
+        Assertions.assertTrue(h.toString().contains("Negative value -3"));
+
+        @NotNull HopeLong c = HopeLong.capture(new IllegalStateException("bad"));
+        Assertions.assertEquals("999J", c.failure().code());
+    }
+
+    @Test
+    void testFromHope() {
+        @NotNull Hope<String> hope = Hope.of("12345");
+        Assertions.assertEquals(12345, hope.mapToInt(Integer::parseInt).value());
+        Assertions.assertEquals(12345L, hope.mapToLong(Long::parseLong).value());
+        Assertions.assertEquals(5.0, hope.mapToDouble(String::length).value());
+        @NotNull Hope<String> fail = Hope.fault(MY_FAULT, 0);
+        Assertions.assertSame(fail.failure(), fail.mapToInt(String::length).failure());
+    }
+
+    @Test
+    void testLoop() {
+        List<Integer> list = Arrays.asList(1, 2, 3, -4, 5);
+        AtomicInteger sum = new AtomicInteger();
+        @NotNull None none = None.iterableOf(list).forEach(n -> checked(n).implies(sum::addAndGet));
+        Assertions.assertEquals(1, none.signals().size());
+        Assertions.assertEquals(11, sum.get());
+
+        AtomicLong total = new AtomicLong();
+        @NotNull None all = IntStream.range(0, 100)
+            .mapToObj(k -> HopeLong.of(k).implies(total::addAndGet))
+            .collect(None.collect());
+        Assertions.assertTrue(all.completeSuccess());
+        Assertions.assertEquals(4950L, total.get());
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class TestLazyMessage {
+    private static final AtomicInteger counter = new AtomicInteger();
+    private static final CustMsg COUNTED = new PmCustMsg("LZ01", 500, "Lazy {}") {
+        @Override
+        public String message(Object[] objects) {
+            counter.incrementAndGet();
+            return super.message(objects);
+        }
+    };
+
+    @Test
+    void testDeferred() {
+        counter.set(0);
+        @NotNull None none = IntStream.range(0, 100)
+            .mapToObj(k -> Nope.fault(COUNTED, k))
+            .collect(None.collect());
+        Assertions.assertTrue(none.completeWithErrors());
+        Assertions.assertEquals(100, none.signals().size());
+        Assertions.assertEquals(0, counter.get());
+
+        Signal first = none.signals().iterator().next();
+        Assertions.assertEquals("Lazy 0", first.message());
+        Assertions.assertEquals("Lazy 0", first.message());
+        Assertions.assertTrue(first.toString().contains("message: \"Lazy 0\""));
+        Assertions.assertEquals(1, counter.get());
+    }
+
+    @Test
+    void testConcurrentRead() {
+        counter.set(0);
+        @NotNull Failure fail = Hope.fault(COUNTED, "shared").failure();
+        String[] texts = IntStream.range(0, 64).parallel()
+            .mapToObj(k -> fail.message())
+            .toArray(String[]::new);
+        for (String text : texts) {
+            Assertions.assertEquals("Lazy shared", text);
+        }
+        Assertions.assertTrue(counter.get() >= 1);
+    }
+}
@@ -5,11 +5,19 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -251,4 +259,342 @@ class TestLoop {
         Some.<Stream<Hope<Integer>>>capture(new NullPointerException()).stream(it -> it).forEach(n -> Hope.of(sum.addAndGet(n)));
     }
 
+    @Test
+    void testWorkers() {
+        CustMsg odd = PmCustMsg.of("LP01", "Odd {}");
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+        AtomicInteger sum = new AtomicInteger();
+        @NotNull None none = None.streamOf(IntStream.rangeClosed(1, 10_000).boxed()).forEachParallel(3, n -> {
+            workers.add(Thread.currentThread());
+            sum.addAndGet(n);
+            return n % 2 == 0 ? Nope.nope() : Nope.fault(odd, n);
+        });
+        Assertions.assertEquals(50005000, sum.get());
+        Assertions.assertEquals(5000, none.errorCount());
+        Assertions.assertTrue(workers.size() <= 3, () -> workers.size() + " workers");
+        Assertions.assertFalse(workers.contains(Thread.currentThread()));
+        workers.forEach(t -> Assertions.assertFalse(t.isAlive()));
+    }
+
+    @Test
+    void testWorkerException() {
+        AtomicInteger sum = new AtomicInteger();
+        Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+        AtomicInteger uncaught = new AtomicInteger();
+        Thread.setDefaultUncaughtExceptionHandler((t, e) -> uncaught.incrementAndGet());
+        try {
+            @NotNull None none = None.iterableOf(IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toList()))
+                .forEachParallel(4, n -> {
+                    if (n % 10 == 0) throw new IllegalStateException();
+                    return Hope.of(sum.addAndGet(n));
+                });
+            Assertions.assertTrue(none.completeSuccess());
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(handler);
+        }
+        Assertions.assertEquals(5050 - 550, sum.get());
+        Assertions.assertEquals(10, uncaught.get());
+    }
+
+    @Test
+    void testVirtual() {
+        CustMsg odd = PmCustMsg.of("LP02", "Odd {}");
+        AtomicInteger sum = new AtomicInteger();
+        @NotNull None none = None.iterableOf(IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList()))
+            .forEachVirtual(50, n -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sum.addAndGet(n);
+                return n % 2 == 0 ? Nope.nope() : Nope.fault(odd, n);
+            });
+        Assertions.assertEquals(500500, sum.get());
+        Assertions.assertEquals(500, none.errorCount());
+
+        @NotNull None stopped = None.streamOf(IntStream.rangeClosed(1, 1000).boxed())
+            .maxErrors(10)
+            .forEachVirtual(4, n -> Nope.fault(odd, n));
+        Assertions.assertTrue(stopped.errorCount() >= 10 && stopped.errorCount() < 1000);
+        Assertions.assertEquals(1, stopped.warningCount());
+
+        AtomicInteger calls = new AtomicInteger();
+        @NotNull None window = None.streamOf(IntStream.rangeClosed(1, 1000).boxed())
+            .maxErrors(5)
+            .forEachVirtual(8, n -> {
+                calls.incrementAndGet();
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Nope.fault(odd, n);
+            });
+        Assertions.assertTrue(calls.get() >= 5 && calls.get() <= 5 + 8 - 1, () -> "calls: " + calls.get());
+        Assertions.assertEquals(calls.get(), window.errorCount());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.iterableOf(Arrays.asList(1, 2)).forEachVirtual(0, n -> Nope.nope()));
+        @NotNull None failed = Some.<List<Integer>>capture(new NullPointerException()).iterableOf(it -> it).forEachVirtual(5, n -> Nope.nope());
+        Assertions.assertTrue(failed.completeWithErrors());
+    }
+
+    @Test
+    void testExecutorInterrupted() {
+        ExecutorService exec = Executors.newFixedThreadPool(2);
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        Stream<Integer> source = IntStream.rangeClosed(1, 5000).boxed().peek(n -> {
+            if (pulled.incrementAndGet() == 100) Thread.currentThread().interrupt();
+        });
+        @NotNull None none;
+        try {
+            none = None.streamOf(source).forEachParallel(exec, 8, n -> {
+                done.incrementAndGet();
+                return Nope.nope();
+            });
+        } finally {
+            Assertions.assertTrue(Thread.interrupted());
+            exec.shutdown();
+        }
+        Assertions.assertEquals(100, pulled.get());
+        Assertions.assertEquals(99, done.get());
+        Assertions.assertTrue(none.completeWarning());
+        Signal warning = none.signals().iterator().next();
+        Assertions.assertEquals("999I", warning.code());
+        Assertions.assertTrue(warning.message().contains(" 100 "), warning.message());
+    }
+
+    @Test
+    void testExecutorWindow() {
+        ThreadPoolExecutor exec = (ThreadPoolExecutor) Executors.newFixedThreadPool(2);
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Stream<Integer> source = IntStream.rangeClosed(1, 5000).boxed().peek(n -> pulled.incrementAndGet());
+        @NotNull None none = None.streamOf(source).forEachParallel(exec, 8, n -> {
+            maxInFlight.accumulateAndGet(pulled.get() - done.get(), Math::max);
+            done.incrementAndGet();
+            return Nope.nope();
+        });
+        exec.shutdown();
+        Assertions.assertTrue(none.completeSuccess());
+        Assertions.assertEquals(5000, done.get());
+        Assertions.assertTrue(maxInFlight.get() <= 9, () -> "in flight: " + maxInFlight.get());
+        Assertions.assertEquals(0, exec.getQueue().size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.iterableOf(Arrays.asList(1, 2)).forEachParallel(exec, 0, n -> Nope.nope()));
+    }
+
+    @Test
+    void testMapParallel() {
+        CustMsg seven = PmCustMsg.of("LP03", "Seven {}");
+        @NotNull Some<List<Integer>> some = None.streamOf(IntStream.rangeClosed(1, 2000).boxed())
+            .mapParallel(4, n -> {
+                if (n % 3 == 0) Thread.yield();
+                return n % 7 == 0 ? Hope.fault(seven, n) : Hope.of(10 * n);
+            });
+        Assertions.assertTrue(some.completeWithErrors());
+        Assertions.assertEquals(2000 / 7, some.errorCount());
+
+        @NotNull Some<List<Integer>> ok = None.iterableOf(IntStream.rangeClosed(1, 2000).boxed().collect(Collectors.toList()))
+            .mapParallel(4, n -> Hope.of(10 * n));
+        Assertions.assertTrue(ok.completeSuccess());
+        Assertions.assertEquals(IntStream.rangeClosed(1, 2000).map(n -> 10 * n).boxed().collect(Collectors.toList()), ok.value());
+
+        List<Integer> out = new java.util.ArrayList<>();
+        @NotNull None none = None.streamOf(IntStream.rangeClosed(1, 2000).boxed())
+            .mapParallel(4, n -> n % 7 == 0 ? Hope.fault(seven, n) : Hope.of(n), out::add);
+        Assertions.assertEquals(2000 / 7, none.errorCount());
+        Assertions.assertEquals(IntStream.rangeClosed(1, 2000).filter(n -> n % 7 != 0).boxed().collect(Collectors.toList()), out);
+    }
+
+    @Test
+    void testMapParallelStop() {
+        CustMsg bad = PmCustMsg.of("LP04", "Bad {}");
+        List<Integer> out = new java.util.ArrayList<>();
+        @NotNull None none = None.streamOf(IntStream.rangeClosed(1, 5000).boxed())
+            .maxErrors(5)
+            .mapParallel(3, n -> n > 100 ? Hope.fault(bad, n) : Hope.of(n), out::add);
+        Assertions.assertTrue(none.errorCount() >= 5 && none.errorCount() < 5000);
+        for (int k = 1; k < out.size(); k++) {
+            Assertions.assertTrue(out.get(k - 1) < out.get(k));
+        }
+        Assertions.assertTrue(out.isEmpty() || out.get(out.size() - 1) <= 100);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> None.iterableOf(Arrays.asList(1, 2, 3))
+            .mapParallel(2, Hope::of, n -> {
+                if (n == 2) throw new IllegalStateException();
+            }));
+        @NotNull Some<List<Integer>> failed = Some.<List<Integer>>capture(new NullPointerException()).iterableOf(it -> it).mapParallel(2, Hope::of);
+        Assertions.assertTrue(failed.completeWithErrors());
+    }
+
+    /*
+     * a successful value without value, as a foreign implementation could return
+     */
+    @SuppressWarnings("unchecked")
+    private static @NotNull AnyValue<Integer> nullValue() {
+        return (AnyValue<Integer>) Proxy.newProxyInstance(AnyValue.class.getClassLoader(), new Class<?>[]{AnyValue.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "completeSuccess":
+                    return true;
+                case "completeWithErrors":
+                case "completeWarning":
+                    return false;
+                case "signals":
+                    return Collections.emptyList();
+                case "errorCount":
+                case "warningCount":
+                    return 0L;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    @Test
+    void testMapParallelNull() {
+        List<Integer> out = new java.util.ArrayList<>();
+        @NotNull None none = None.iterableOf(IntStream.rangeClosed(1, 100).boxed().collect(Collectors.toList()))
+            .mapParallel(4, n -> n % 10 == 0 ? nullValue() : Hope.of(n), out::add);
+        Assertions.assertTrue(none.completeSuccess());
+        Assertions.assertEquals(100, out.size());
+        Assertions.assertNull(out.get(9));
+        Assertions.assertEquals(11, out.get(10));
+    }
+
+    @Test
+    void testMapParallelInterrupted() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger processed = new AtomicInteger();
+        List<Integer> out = Collections.synchronizedList(new java.util.ArrayList<>());
+        AtomicReference<None> result = new AtomicReference<>();
+        Thread feeder = new Thread(() -> result.set(None.iterableOf(IntStream.range(0, 1000).boxed().collect(Collectors.toList()))
+            .mapParallel(2, n -> {
+                processed.incrementAndGet();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Hope.of(n);
+            }, out::add)));
+        feeder.start();
+        while (processed.get() < 2 || feeder.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        feeder.interrupt();
+        gate.countDown();
+        feeder.join(10_000);
+        Assertions.assertFalse(feeder.isAlive());
+        Assertions.assertTrue(processed.get() < 1000);
+        Assertions.assertEquals(processed.get(), out.size());
+        for (int k = 0; k < out.size(); k++) {
+            Assertions.assertEquals(k, out.get(k));
+        }
+        @NotNull None none = result.get();
+        Assertions.assertTrue(none.completeWarning());
+        Assertions.assertEquals("999I", none.signals().iterator().next().code());
+    }
+
+    private static <E> @NotNull LoopConsumer<E> external(List<E> items) {
+        return new LoopConsumer<E>() {
+            @Override
+            public @NotNull None forEach(@NotNull Function<? super E, ? extends ItemStatus> fcn) {
+                @NotNull NoneBuilder bld = None.builder();
+                items.forEach(item -> bld.add(fcn.apply(item)));
+                return bld.build();
+            }
+
+            @Override
+            public @NotNull None forEachParallel(int maxThread, @NotNull Function<? super E, ? extends ItemStatus> fcn) {
+                return forEach(fcn);
+            }
+
+            @Override
+            public @NotNull None forEachParallel(@NotNull ExecutorService executor, @NotNull Function<? super E, ? extends ItemStatus> fcn) {
+                return forEach(fcn);
+            }
+        };
+    }
+
+    @Test
+    void testExternalDefaults() {
+        CustMsg odd = PmCustMsg.of("LP07", "Odd {}");
+        List<Integer> items = IntStream.rangeClosed(1, 7).boxed().collect(Collectors.toList());
+        List<Integer> sizes = new java.util.ArrayList<>();
+        @NotNull None batched = external(items).forEachBatchParallel(3, 2, batch -> {
+            sizes.add(batch.size());
+            return batch.size() < 3 ? Nope.fault(odd, batch.size()) : Nope.nope();
+        });
+        Assertions.assertEquals(Arrays.asList(3, 3, 1), sizes);
+        Assertions.assertEquals(1, batched.errorCount());
+
+        @NotNull Some<List<Integer>> mapped = external(items).mapParallel(4, n -> Hope.of(2 * n));
+        Assertions.assertEquals(Arrays.asList(2, 4, 6, 8, 10, 12, 14), mapped.value());
+        @NotNull Some<List<Integer>> failed = external(items).mapParallel(4, n -> n % 2 == 0 ? Hope.of(n) : Hope.<Integer>fault(odd, n));
+        Assertions.assertEquals(4, failed.errorCount());
+
+        AtomicInteger sum = new AtomicInteger();
+        Assertions.assertTrue(external(items).forEachVirtual(2, n -> {
+            sum.addAndGet(n);
+            return Nope.nope();
+        }).completeSuccess());
+        Assertions.assertEquals(28, sum.get());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> external(items).failFast());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> external(items).forEachBatch(0, batch -> Nope.nope()));
+    }
+
+    @Test
+    void testBatch() {
+        CustMsg big = PmCustMsg.of("LP05", "Batch of {}");
+        List<Integer> sizes = new java.util.ArrayList<>();
+        AtomicInteger sum = new AtomicInteger();
+        @NotNull None none = None.streamOf(IntStream.rangeClosed(1, 1003).boxed()).forEachBatch(100, batch -> {
+            sizes.add(batch.size());
+            batch.forEach(sum::addAndGet);
+            return batch.size() < 100 ? Nope.fault(big, batch.size()) : Nope.nope();
+        });
+        Assertions.assertEquals(503506, sum.get());
+        Assertions.assertEquals(11, sizes.size());
+        Assertions.assertEquals(3, sizes.get(10));
+        Assertions.assertEquals(1, none.errorCount());
+
+        CustMsg odd = PmCustMsg.of("LP06", "Odd {}");
+        List<Hope<Integer>> values = IntStream.rangeClosed(1, 10)
+            .mapToObj(n -> n % 2 == 0 ? Hope.of(n) : Hope.<Integer>fault(odd, n))
+            .collect(Collectors.toList());
+        List<List<Integer>> batches = new java.util.ArrayList<>();
+        @NotNull None mixed = None.iterable(values).forEachBatch(2, batch -> {
+            batches.add(new java.util.ArrayList<>(batch));
+            Assertions.assertThrows(UnsupportedOperationException.class, batch::clear);
+            return Nope.nope();
+        });
+        Assertions.assertEquals(5, mixed.errorCount());
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(2, 4), Arrays.asList(6, 8), Arrays.asList(10)), batches);
+    }
+
+    @Test
+    void testBatchParallel() {
+        CustMsg tens = PmCustMsg.of("LP07", "Tens {}");
+        AtomicInteger sum = new AtomicInteger();
+        AtomicInteger count = new AtomicInteger();
+        @NotNull None none = None.iterableOf(IntStream.rangeClosed(1, 10_000).boxed().collect(Collectors.toList()))
+            .forEachBatchParallel(64, 4, batch -> {
+                count.incrementAndGet();
+                batch.forEach(sum::addAndGet);
+                return batch.get(0) % 640 == 1 ? Nope.fault(tens, batch.get(0)) : Nope.nope();
+            });
+        Assertions.assertEquals(50005000, sum.get());
+        Assertions.assertEquals(157, count.get());
+        Assertions.assertEquals(16, none.errorCount());
+
+        @NotNull None stopped = None.streamOf(IntStream.rangeClosed(1, 10_000).boxed())
+            .maxErrors(3)
+            .forEachBatchParallel(10, 2, batch -> Nope.fault(tens, batch.get(0)));
+        Assertions.assertTrue(stopped.errorCount() >= 3 && stopped.errorCount() < 1000);
+        Assertions.assertEquals(1, stopped.warningCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.iterableOf(Arrays.asList(1, 2)).forEachBatch(0, batch -> Nope.nope()));
+    }
+
 }
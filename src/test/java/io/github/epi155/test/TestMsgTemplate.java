@@ -0,0 +1,96 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.MissingFormatArgumentException;
+
+class TestMsgTemplate {
+    @Test
+    void testSameAsFormat() {
+        String[] patterns = {
+            "no parameters",
+            "value %s not valid",
+            "%s-%s",
+            "%2$s before %1$s",
+            "100%% of %s%n",
+            "{ not a placeholder } {x}",
+        };
+        Object[] argv = { "alpha", 42, null };
+        for (String pattern : patterns) {
+            Assertions.assertEquals(String.format(pattern, argv), MsgTemplate.compile(pattern).format(argv), pattern);
+        }
+    }
+
+    @Test
+    void testBraced() {
+        MsgTemplate template = MsgTemplate.compile("{1} then {0}, again {1}, missing {2}");
+        Assertions.assertEquals("b then a, again b, missing {2}", template.format("a", "b"));
+        StringBuilder sb = new StringBuilder("> ");
+        template.formatTo(sb, "x", "y");
+        Assertions.assertEquals("> y then x, again y, missing {2}", sb.toString());
+    }
+
+    @Test
+    void testLegacy() {
+        MsgTemplate template = MsgTemplate.compile("%05d [%-4s]");
+        Assertions.assertEquals("00042 [ab  ]", template.format(42, "ab"));
+    }
+
+    @Test
+    void testMissing() {
+        MsgTemplate template = MsgTemplate.compile("%s and %s");
+        Assertions.assertThrows(MissingFormatArgumentException.class, () -> template.format("one"));
+    }
+
+    @Test
+    void testNested() {
+        MsgTemplate inner = MsgTemplate.compile("<%s>");
+        Object lazy = new Object() {
+            @Override
+            public String toString() {
+                return inner.format("in");
+            }
+        };
+        Assertions.assertEquals("[<in>|out]", MsgTemplate.compile("[%s|%s]").format(lazy, "out"));
+    }
+
+    @Test
+    void testEnum() {
+        @NotNull Hope<Object> hope = Hope.fault(Msg.TM01, "x", 3);
+        Assertions.assertEquals("TM01", hope.failure().code());
+        Assertions.assertEquals(422, hope.failure().status());
+        Assertions.assertEquals("value x not valid (3 of 3)", hope.failure().message());
+    }
+
+    private enum Msg implements TemplateMsg {
+        TM01("TM01", 422, "value %s not valid ({1} of %2$s)");
+
+        private final String code;
+        private final int status;
+        private final MsgTemplate template;
+
+        Msg(String code, int status, String pattern) {
+            this.code = code;
+            this.status = status;
+            this.template = MsgTemplate.compile(pattern);
+        }
+
+        @Override
+        public String code() {
+            return code;
+        }
+
+        @Override
+        public int statusCode() {
+            return status;
+        }
+
+        @Override
+        public @NotNull MsgTemplate template() {
+            return template;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class TestProperties {
+    private static final CustMsg PROP_ERR = PmCustMsg.of("PR01", "Property error");
+
+    @Test
+    void testEmpty() {
+        @NotNull Failure fail = Nope.fault(PROP_ERR).failure();
+        Assertions.assertNull(fail.getProperty("any", String.class));
+        Assertions.assertEquals("dflt", fail.getStrProperty("any", "dflt"));
+        fail.forEach((k, v) -> Assertions.fail(k));
+        Assertions.assertFalse(fail.toString().contains("properties"));
+    }
+
+    @Test
+    void testGrow() {
+        @NotNull Failure fail = Nope.fault(PROP_ERR).failure();
+        for (int k = 0; k < 20; k++) {
+            fail.setProperty("key" + k, k);
+        }
+        fail.setProperty("key1", "one");
+        fail.setProperty("key15", "fifteen");
+        Assertions.assertEquals("one", fail.getStrProperty("key1"));
+        Assertions.assertEquals("fifteen", fail.getStrProperty("key15"));
+        Assertions.assertEquals(7, fail.getProperty("key7", Integer.class));
+        Assertions.assertEquals(19, fail.getProperty("key19", 0));
+        Assertions.assertNull(fail.getProperty("key20", Integer.class));
+        List<String> keys = new ArrayList<>();
+        fail.forEach((k, v) -> keys.add(k));
+        Assertions.assertEquals(20, keys.size());
+        Assertions.assertEquals("key0", keys.get(0));
+        Assertions.assertEquals("key19", keys.get(19));
+    }
+
+    @Test
+    void testInitialMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("color", "red");
+        @NotNull Failure fail = Nope.fault(map, PROP_ERR).failure();
+        fail.setProperty("size", 3);
+        map.put("shape", "round");
+        Assertions.assertEquals("red", fail.getStrProperty("color"));
+        Assertions.assertEquals(3, fail.getProperty("size", 0));
+        Assertions.assertNull(fail.getStrProperty("shape"));
+        Assertions.assertFalse(map.containsKey("size"));
+        Assertions.assertTrue(fail.toString().contains("properties: { color: \"red\", size: 3 }"));
+    }
+}
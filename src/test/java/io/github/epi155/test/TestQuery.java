@@ -0,0 +1,118 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+class TestQuery {
+    private static final CustMsg NOT_FOUND = PmCustMsg.of("QY01", 404, "Missing {}");
+    private static final CustMsg CONFLICT = PmCustMsg.of("QY02", 409, "Conflict {}");
+    private static final CustMsg BROKEN = PmCustMsg.of("QY03", 500, "Broken {}");
+    private static final CustMsg SLOW = PmCustMsg.of("QY04", 299, "Slow {}");
+
+    private static void fill(@NotNull NoneBuilder bld) {
+        bld.fault(BROKEN, 1);
+        bld.fault(NOT_FOUND, 2);
+        bld.alert(SLOW, 3);
+        bld.fault(CONFLICT, 4);
+        bld.fault(NOT_FOUND, 5);
+        bld.alert(BROKEN, 6);
+    }
+
+    private static List<String> messages(List<? extends Signal> signals) {
+        return signals.stream().map(Signal::message).collect(Collectors.toList());
+    }
+
+    private static void check(@NotNull ManyErrors none) {
+        Assertions.assertEquals(Arrays.asList("QY03", "QY01", "QY04", "QY02"), Arrays.asList(none.codes().toArray()));
+        Assertions.assertEquals(Arrays.asList("Missing 2", "Missing 5"), messages(none.signalsByCode("QY01")));
+        Assertions.assertEquals(Arrays.asList("Broken 1", "Broken 6"), messages(none.signalsByCode("QY03")));
+        Assertions.assertTrue(none.signalsByCode("QY99").isEmpty());
+        Assertions.assertEquals(Arrays.asList("Missing 2", "Missing 5", "Conflict 4"), messages(none.signalsByStatus(400, 500)));
+        Assertions.assertEquals(Arrays.asList("Broken 1", "Broken 6"), messages(none.signalsByStatus(500, 600)));
+        Assertions.assertEquals(Collections.singletonList("Slow 3"), messages(none.signalsByStatus(200, 300)));
+        Assertions.assertTrue(none.signalsByStatus(500, 400).isEmpty());
+        Assertions.assertEquals(6, none.signalsByStatus(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+        Assertions.assertEquals(Arrays.asList("Broken 1", "Missing 2", "Conflict 4", "Missing 5"), messages(none.failures()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> none.failures().clear());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> none.signalsByStatus(400, 500).clear());
+    }
+
+    @Test
+    void testNone() {
+        @NotNull NoneBuilder bld = None.builder();
+        fill(bld);
+        check(bld.build());
+    }
+
+    @Test
+    void testSome() {
+        @NotNull NoneBuilder bld = None.builder();
+        fill(bld);
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(4, none.failures().size());
+        @NotNull Some<Integer> some = none.map(() -> Some.of(1));
+        check(some);
+    }
+
+    @Test
+    void testSpilled() {
+        @NotNull SpillingNoneBuilder bld = None.spillingBuilder(2);
+        fill(bld);
+        try (@NotNull CloseableNone none = bld.build()) {
+            check(none);
+        }
+    }
+
+    @Test
+    void testDefaults() {
+        @NotNull NoneBuilder bld = None.builder();
+        fill(bld);
+        Collection<Signal> signals = bld.build().signals();
+        ManyErrors external = new ManyErrors() {
+            @Override
+            public boolean completeSuccess() {
+                return signals.isEmpty();
+            }
+
+            @Override
+            public boolean completeWithErrors() {
+                return signals.stream().anyMatch(Failure.class::isInstance);
+            }
+
+            @Override
+            public Collection<Signal> signals() {
+                return signals;
+            }
+
+            @Override
+            public @NotNull Optional<String> summary() {
+                return Optional.empty();
+            }
+
+            @Override
+            public void onFailure(@NotNull Consumer<Collection<? extends Signal>> signalAction) {
+                signalAction.accept(signals);
+            }
+        };
+        check(external);
+        Assertions.assertEquals(bld.build().counts().toString(), external.counts().toString());
+    }
+
+    @Test
+    void testEmpty() {
+        @NotNull None none = None.none();
+        Assertions.assertTrue(none.codes().isEmpty());
+        Assertions.assertTrue(none.failures().isEmpty());
+        Assertions.assertTrue(none.signalsByStatus(0, 1000).isEmpty());
+    }
+}
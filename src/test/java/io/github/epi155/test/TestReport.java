@@ -0,0 +1,67 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+class TestReport {
+    private static final CustMsg MY_FAULT = unplaced("RP01", "Bad {}");
+    private static final CustMsg MY_ALERT = unplaced("RP02", "Odd \"{}\"");
+
+    private static @NotNull CustMsg unplaced(String code, String pattern) {
+        return new PmCustMsg(code, 500, pattern) {
+            @Override
+            public CapturePolicy capturePolicy() {
+                return CapturePolicy.off();
+            }
+        };
+    }
+
+    private static @NotNull None sample() {
+        @NotNull NoneBuilder bld = None.builder();
+        bld.fault(MY_FAULT, 1).setProperty("row", 3).setProperty("field", "f");
+        bld.alert(MY_ALERT, "x\ty");
+        return bld.build();
+    }
+
+    @Test
+    void testText() throws IOException {
+        @NotNull None none = sample();
+        String expected = "{ finalStatus: Errors" +
+            ", warnings: [ { code: \"RP02\", status: 500, message: \"Odd \"x\ty\"\" } ]" +
+            ", errors: [ { code: \"RP01\", status: 500, message: \"Bad 1\", properties: { row: 3, field: \"f\" } } ] }";
+        Assertions.assertEquals(expected, none.toString());
+        StringWriter sw = new StringWriter();
+        ReportFormat.TEXT.write(none, sw);
+        Assertions.assertEquals(expected, sw.toString());
+        Assertions.assertEquals("{ finalStatus: Success }", None.none().toString());
+        Assertions.assertEquals("{ finalStatus: Success, finalValue: java.lang.Integer!1 }", Some.of(1).toString());
+    }
+
+    @Test
+    void testJsonLines() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        ReportFormat.JSON_LINES.write(sample(), sb);
+        String expected =
+            "{\"type\":\"error\",\"code\":\"RP01\",\"status\":500,\"message\":\"Bad 1\",\"properties\":{\"row\":3,\"field\":\"f\"}}\n" +
+            "{\"type\":\"warning\",\"code\":\"RP02\",\"status\":500,\"message\":\"Odd \\\"x\\ty\\\"\"}\n";
+        Assertions.assertEquals(expected, sb.toString());
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ReportFormat.JSON_LINES.write(sample(), bos);
+        Assertions.assertEquals(expected, new String(bos.toByteArray(), StandardCharsets.UTF_8));
+
+        StringBuilder one = new StringBuilder();
+        ReportFormat.JSON_LINES.write(Nope.fault(MY_FAULT, 2).failure(), one);
+        Assertions.assertEquals("{\"type\":\"error\",\"code\":\"RP01\",\"status\":500,\"message\":\"Bad 2\"}\n", one.toString());
+        StringBuilder none = new StringBuilder();
+        ReportFormat.JSON_LINES.write(None.none(), none);
+        Assertions.assertEquals(0, none.length());
+    }
+}
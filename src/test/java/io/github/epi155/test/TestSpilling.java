@@ -0,0 +1,154 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class TestSpilling {
+    private static final CustMsg BAD_FIELD = unplaced("SP01", 422);
+    private static final CustMsg BAD_ROW = unplaced("SP02", 500);
+
+    private static @NotNull CustMsg unplaced(String code, int status) {
+        return new PmCustMsg(code, status, "Bad {}") {
+            @Override
+            public CapturePolicy capturePolicy() {
+                return CapturePolicy.off();
+            }
+        };
+    }
+
+    private static @NotNull ItemStatus validate(int k) {
+        if (k % 2 == 0) {
+            @NotNull NoneBuilder bld = None.builder();
+            bld.fault(BAD_FIELD, k)
+                .setProperty("row", k)
+                .setProperty("id", (long) k)
+                .setProperty("field", "f" + k)
+                .setProperty("blank", null);
+            return bld.build();
+        }
+        if (k % 3 == 0) return None.alert(BAD_ROW, k);
+        return Nope.nope();
+    }
+
+    @Test
+    void testSpill() {
+        List<Integer> list = IntStream.range(0, 3_000).boxed().collect(Collectors.toList());
+        @NotNull SpillingNoneBuilder bld = None.spillingBuilder(10);
+        bld.iterableOf(list).forEach(TestSpilling::validate);
+        try (@NotNull CloseableNone none = bld.build()) {
+            Assertions.assertTrue(none.completeWithErrors());
+            Assertions.assertEquals(2000, none.signals().size());
+            Assertions.assertEquals(500, none.signals().stream().filter(Warning.class::isInstance).count());
+            int k = 0;
+            for (Signal signal : none.signals()) {
+                while (validate(k).completeSuccess()) k++;
+                Assertions.assertEquals(k % 2 == 0 ? "SP01" : "SP02", signal.code());
+                Assertions.assertEquals("Bad " + k, signal.message());
+                if (k % 2 == 0) {
+                    Assertions.assertTrue(signal instanceof Failure);
+                    Assertions.assertEquals(k, signal.getProperty("row", Integer.class));
+                    Assertions.assertEquals((long) k, signal.getProperty("id", Long.class));
+                    Assertions.assertEquals("f" + k, signal.getStrProperty("field"));
+                } else {
+                    Assertions.assertTrue(signal instanceof Warning);
+                }
+                k++;
+            }
+            Assertions.assertEquals("1500 error(s), 500 warning(s) found", none.summary().orElse(null));
+            Iterator<Signal> it = none.signals().iterator();
+            none.close();
+            Assertions.assertThrows(IllegalStateException.class, () -> none.signals().iterator());
+            Assertions.assertTrue(it.hasNext());
+        }
+    }
+
+    private static @NotNull Collection<Signal> viewOf(int n) {
+        List<Integer> list = IntStream.range(0, n).boxed().collect(Collectors.toList());
+        @NotNull SpillingNoneBuilder bld = None.spillingBuilder(10);
+        bld.iterableOf(list).forEach(TestSpilling::validate);
+        return bld.build().signals();
+    }
+
+    @Test
+    void testViewOutlivesNone() throws InterruptedException {
+        Collection<Signal> view = viewOf(3_000);
+        for (int k = 0; k < 5; k++) {
+            System.gc();
+            Thread.sleep(20);                   // the cleaner releases the collected owners
+        }
+        Assertions.assertEquals(2000, view.stream().count());
+    }
+
+    private static @NotNull Set<Path> spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(p -> p.getFileName().toString().startsWith("pm-signals-")).collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    void testCollectedDeleted() throws IOException, InterruptedException {
+        Set<Path> before = spillFiles();
+        Collection<Signal> view = viewOf(3_000);
+        Set<Path> created = spillFiles();
+        created.removeAll(before);
+        Assertions.assertEquals(1, created.size());
+        Path file = created.iterator().next();
+        Assertions.assertEquals(2000, view.size());
+        view = null;
+        for (int k = 0; k < 100 && Files.exists(file); k++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assertions.assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void testClosedBuilder() {
+        @NotNull SpillingNoneBuilder bld = None.spillingBuilder(1);
+        bld.alert(BAD_ROW, 1);
+        bld.alert(BAD_ROW, 2);
+        bld.build().close();
+        Assertions.assertThrows(IllegalStateException.class, () -> bld.alert(BAD_ROW, 3));
+        Assertions.assertThrows(IllegalStateException.class, () -> bld.signals().iterator());
+    }
+
+    @Test
+    void testInMemory() {
+        @NotNull SpillingNoneBuilder bld = None.spillingBuilder(100);
+        bld.alert(BAD_ROW, 1);
+        Assertions.assertTrue(bld.completeWarning());
+        try (@NotNull CloseableNone none = bld.build()) {
+            Assertions.assertTrue(none.completeWarning());
+            Assertions.assertEquals(1, none.signals().size());
+            none.close();
+            Assertions.assertEquals("Bad 1", none.signals().iterator().next().message());
+        }
+        Assertions.assertTrue(None.spillingBuilder(0).build().completeSuccess());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> None.spillingBuilder(-1));
+    }
+
+    @Test
+    void testParallel() {
+        List<Integer> list = IntStream.range(0, 2_000).boxed().collect(Collectors.toList());
+        @NotNull SpillingNoneBuilder bld = None.spillingBuilder(50);
+        bld.iterableOf(list).forEachParallel(8, TestSpilling::validate);
+        try (@NotNull CloseableNone none = bld.build()) {
+            Assertions.assertEquals(1000, none.counts().iterator().next().occurrences());
+            Assertions.assertEquals(1333, none.signals().stream().count());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.epi155.test;
+
+import io.github.epi155.pm.lang.*;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class TestStripedStatus {
+    private static final int THREADS = 32;
+    private static final int PER_THREAD = 10_000;
+    private static final CustMsg UNPLACED = new PmCustMsg("ST01", 500, "Striped {} {}") {
+        @Override
+        public CapturePolicy capturePolicy() {
+            return CapturePolicy.off();
+        }
+    };
+
+    @Test
+    void testConcurrentAdd() throws InterruptedException {
+        @NotNull NoneBuilder bld = None.builder();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> problem = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < PER_THREAD; i++) {
+                    Signal signal = (thread == 0 && i < PER_THREAD / 2) ? bld.alert(UNPLACED, thread, i) : bld.fault(UNPLACED, thread, i);
+                    signal.setProperty("thread", thread).setProperty("index", i);
+                }
+            }));
+        }
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                if (bld.completeWithErrors() && bld.signals().stream().noneMatch(s -> s instanceof Failure))
+                    problem.set("error flag set, failure not visible");
+                if (!bld.completeSuccess() && bld.signals().isEmpty())
+                    problem.set("signal flag set, signal not visible");
+            }
+        });
+        workers.forEach(Thread::start);
+        reader.start();
+        Assertions.assertTrue(bld.completeSuccess());
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        done.set(true);
+        reader.join();
+        Assertions.assertNull(problem.get());
+
+        Assertions.assertTrue(bld.completeWithErrors());
+        Collection<Signal> signals = bld.signals();
+        Assertions.assertEquals(THREADS * PER_THREAD, signals.size());
+        Set<Signal> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(signals);
+        Assertions.assertEquals(THREADS * PER_THREAD, distinct.size());
+
+        int[] last = new int[THREADS];
+        Arrays.fill(last, -1);
+        for (Signal signal : signals) {
+            int thread = signal.getProperty("thread", -1);
+            int index = signal.getProperty("index", -1);
+            Assertions.assertEquals(last[thread] + 1, index, "order of thread " + thread);
+            last[thread] = index;
+        }
+
+        @NotNull None none = bld.build();
+        Assertions.assertEquals(THREADS * PER_THREAD, none.signals().size());
+        Assertions.assertTrue(none.completeWithErrors());
+    }
+
+    @Test
+    void testOwnerOrder() {
+        @NotNull NoneBuilder bld = None.builder();
+        bld.alert(UNPLACED, 0, 0);
+        Assertions.assertTrue(bld.completeWarning());
+        bld.add(None.none());
+        Assertions.assertTrue(bld.completeWarning());
+        bld.fault(UNPLACED, 0, 1);
+        bld.alert(UNPLACED, 0, 2);
+        Assertions.assertTrue(bld.completeWithErrors());
+        Iterator<Signal> it = bld.build().signals().iterator();
+        Assertions.assertEquals("Striped 0 0", it.next().message());
+        Assertions.assertEquals("Striped 0 1", it.next().message());
+        Assertions.assertEquals("Striped 0 2", it.next().message());
+    }
+    @Test
+    void testOrderAcrossThreads() {
+        @NotNull NoneBuilder bld = None.builder();
+        bld.fault(UNPLACED, "before", 0);
+        bld.iterableOf(Arrays.asList(1, 2, 3)).forEachParallel(3, n -> Nope.fault(UNPLACED, "loop", n));
+        bld.fault(UNPLACED, "after", 0);
+        List<String> messages = new ArrayList<>();
+        bld.signals().forEach(signal -> messages.add(signal.message()));
+        Assertions.assertEquals(5, messages.size());
+        Assertions.assertEquals("Striped before 0", messages.get(0));
+        Assertions.assertEquals("Striped after 0", messages.get(4));
+
+        @NotNull NoneBuilder twice = None.builder();
+        twice.iterableOf(Arrays.asList(1, 2, 3)).forEachParallel(3, n -> Nope.fault(UNPLACED, "first", n));
+        twice.fault(UNPLACED, "middle", 0);
+        twice.iterableOf(Arrays.asList(1, 2, 3)).forEachParallel(3, n -> Nope.fault(UNPLACED, "second", n));
+        twice.fault(UNPLACED, "after", 0);
+        List<String> sequence = new ArrayList<>();
+        twice.build().signals().forEach(signal -> sequence.add(signal.message().split(" ")[1]));
+        Assertions.assertEquals(Arrays.asList("first", "first", "first", "middle", "second", "second", "second", "after"), sequence);
+
+        @NotNull NoneBuilder stopped = None.builder();
+        stopped.iterableOf(Arrays.asList(1, 2, 3, 4)).failFast().forEachParallel(2, n -> Nope.fault(UNPLACED, "loop", n));
+        Signal last = null;
+        for (Signal signal : stopped.signals()) last = signal;
+        Assertions.assertTrue(last instanceof Warning);
+    }
+
+    @Test
+    void testCountsOfSnapshot() throws InterruptedException {
+        @NotNull NoneBuilder bld = None.builder();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> problem = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            for (int k = 0; k < 20_000; k++) {
+                if (k % 2 == 0) bld.fault(UNPLACED, "w", k);
+                else bld.alert(UNPLACED, "w", k);
+            }
+            done.set(true);
+        });
+        writer.start();
+        while (!done.get()) {
+            @NotNull None none = bld.build();
+            long failures = none.signals().stream().filter(Failure.class::isInstance).count();
+            if (none.errorCount() != failures || none.errorCount() + none.warningCount() != none.signals().size())
+                problem.set(none.errorCount() + " errors counted, " + failures + " in the snapshot");
+        }
+        writer.join();
+        Assertions.assertNull(problem.get());
+    }
+
+}